@@ -9,6 +9,9 @@
 plugins {
     // Apply the application plugin to add support for building a CLI application in Java.
     application
+
+    // Apply the JMH plugin to run the benchmarks in src/jmh/java with ./gradlew jmh.
+    alias(libs.plugins.jmh)
 }
 
 repositories {
@@ -19,6 +22,13 @@ repositories {
 dependencies {
     // This dependency is used by the application.
     implementation(libs.guava)
+
+    // Builder base classes are generated at compile time from annotated constructors.
+    compileOnly(project(":builder-processor"))
+    annotationProcessor(project(":builder-processor"))
+
+    // Object layout inspection for the memory footprint reports in src/jmh/java.
+    jmh(libs.jol.core)
 }
 
 testing {
@@ -38,6 +48,22 @@ java {
     }
 }
 
+jmh {
+    jmhVersion = libs.versions.jmh.core.get()
+    // Report allocation per operation next to throughput
+    profilers = listOf("gc")
+    // Select benchmarks by regular expression, e.g. ./gradlew jmh -PjmhIncludes=HandlerChainBenchmark
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes = listOf(it) }
+}
+
+// Prints bytes per Computer instance, compared with the previous field layout.
+tasks.register<JavaExec>("computerFootprint") {
+    group = "benchmark"
+    description = "Prints the memory footprint of Computer instances measured with JOL."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass = "org.codeposito.creational.builder.ComputerFootprint"
+}
+
 application {
     // Define the main class for the application.
     mainClass = "org.codeposito.App"
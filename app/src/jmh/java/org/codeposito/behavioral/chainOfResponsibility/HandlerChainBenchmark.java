@@ -0,0 +1,171 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation of dispatching a request through a handler chain.
+ * The chain holds the six request handlers spread evenly between filler handlers whose canHandle
+ * never matches, so longer chains make every request walk further. Requests follow either a uniform
+ * or a skewed type distribution, and one chain is shared by 1, 4 or all available threads.
+ * Run with ./gradlew jmh; ops/s is the score and allocation per request the gc.alloc.rate.norm column.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandlerChainBenchmark {
+    private static final int REQUEST_COUNT = 1024;
+
+    /**
+     * Type distribution of the benchmark requests.
+     */
+    public enum Distribution {
+        /** Every type equally often. */
+        UNIFORM,
+        /** Zipf-like: the type handled last in the chain is the most frequent, the first the least. */
+        SKEWED
+    }
+
+    /**
+     * How the chain dispatches a request.
+     */
+    public enum Dispatcher {
+        LINEAR,
+        COMPILED,
+        ADAPTIVE
+    }
+
+    /**
+     * The chain shared by all benchmark threads.
+     */
+    @State(Scope.Benchmark)
+    public static class ChainState {
+        @Param({"6", "16", "64", "256"})
+        int chainLength;
+
+        @Param({"UNIFORM", "SKEWED"})
+        Distribution distribution;
+
+        @Param({"LINEAR", "COMPILED", "ADAPTIVE"})
+        Dispatcher dispatcher;
+
+        Handler head;
+        CompiledChain compiled;
+        AdaptiveChain adaptive;
+
+        @Setup
+        public void setUp() {
+            Handler[] handlers = {
+                    new LoginHandler(), new PurchaseHandler(), new RefundHandler(),
+                    new ComplaintHandler(), new TechnicalSupportHandler(), new GeneralInquiryHandler()
+            };
+            Handler previous = null;
+            int placed = 0;
+            for (int i = 0; i < chainLength; i++) {
+                // Real handler k sits at the end of the k-th sixth of the chain
+                boolean real = i == (placed + 1) * chainLength / handlers.length - 1;
+                Handler handler = real ? handlers[placed++] : new FillerHandler();
+                if (previous == null) {
+                    head = handler;
+                } else {
+                    previous.setNext(handler);
+                }
+                previous = handler;
+            }
+            head.setChainEventSink(NoOpEventSink.INSTANCE);
+            compiled = CompiledChain.compile(head);
+            adaptive = new AdaptiveChain(head, 1024);
+        }
+
+        void handle(Request request) {
+            switch (dispatcher) {
+                case LINEAR -> head.handle(request);
+                case COMPILED -> compiled.handle(request);
+                case ADAPTIVE -> adaptive.handle(request);
+            }
+        }
+    }
+
+    /**
+     * Per-thread stream of requests drawn from the configured distribution.
+     */
+    @State(Scope.Thread)
+    public static class RequestStream {
+        Request[] requests;
+        int next;
+
+        @Setup
+        public void setUp(ChainState chain) {
+            RequestType[] types = RequestType.values();
+            double[] cumulative = new double[types.length];
+            double total = 0;
+            for (int i = 0; i < types.length; i++) {
+                total += chain.distribution == Distribution.UNIFORM ? 1 : 1.0 / (types.length - i);
+                cumulative[i] = total;
+            }
+            SplittableRandom random = new SplittableRandom(Thread.currentThread().getId());
+            requests = new Request[REQUEST_COUNT];
+            for (int i = 0; i < REQUEST_COUNT; i++) {
+                double draw = random.nextDouble() * total;
+                int type = 0;
+                while (cumulative[type] < draw) {
+                    type++;
+                }
+                requests[i] = new Request(types[type], "Benchmark request", 1);
+            }
+        }
+
+        Request next() {
+            Request request = requests[next];
+            next = (next + 1) & (REQUEST_COUNT - 1);
+            return request;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void singleThread(ChainState chain, RequestStream stream) {
+        chain.handle(stream.next());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void fourThreads(ChainState chain, RequestStream stream) {
+        chain.handle(stream.next());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void allThreads(ChainState chain, RequestStream stream) {
+        chain.handle(stream.next());
+    }
+
+    /**
+     * Handler standing in for the checks a long production chain performs before the request handlers.
+     */
+    static class FillerHandler extends Handler {
+        @Override
+        protected boolean canHandle(Request request) {
+            return request.getPriority() < 0;
+        }
+
+        @Override
+        protected void processRequest(Request request) {
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation per handled request, before and after pooling requests and emitting output without concatenation.
+ * Run with ./gradlew jmh and compare the gc.alloc.rate.norm column of the gc profiler.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RequestAllocationBenchmark {
+    private static final RequestType[] TYPES = RequestType.values();
+    private static final String DESCRIPTION = "Benchmark request";
+
+    private Handler chain;
+    private Handler concatenatingChain;
+    private RequestPool pool;
+    private PrintStream originalOut;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // Handlers write to System.out, keep the console out of the measurement
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        chain = new LoginHandler();
+        chain.setNext(new PurchaseHandler())
+                .setNext(new RefundHandler())
+                .setNext(new ComplaintHandler())
+                .setNext(new TechnicalSupportHandler())
+                .setNext(new GeneralInquiryHandler());
+
+        concatenatingChain = new ConcatenatingLoginHandler();
+        concatenatingChain.setNext(new ConcatenatingPurchaseHandler())
+                .setNext(new ConcatenatingRefundHandler())
+                .setNext(new ConcatenatingComplaintHandler())
+                .setNext(new ConcatenatingTechnicalSupportHandler())
+                .setNext(new ConcatenatingGeneralInquiryHandler());
+
+        pool = new RequestPool(16);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void concatenatedOutputAndNewRequest() {
+        concatenatingChain.handle(new Request(nextType(), DESCRIPTION, 1));
+    }
+
+    @Benchmark
+    public void emittedOutputAndNewRequest() {
+        chain.handle(new Request(nextType(), DESCRIPTION, 1));
+    }
+
+    @Benchmark
+    public void emittedOutputAndPooledRequest() {
+        Request request = pool.acquire(nextType(), DESCRIPTION, 1);
+        chain.handle(request);
+        pool.release(request);
+    }
+
+    private RequestType nextType() {
+        RequestType type = TYPES[next];
+        next = next + 1 == TYPES.length ? 0 : next + 1;
+        return type;
+    }
+
+    // The handlers as they were before emit(), printing one concatenated string per line
+
+    static class ConcatenatingLoginHandler extends Handler {
+        @Override
+        protected boolean canHandle(Request request) {
+            return request.getType() == RequestType.LOGIN;
+        }
+
+        @Override
+        protected void processRequest(Request request) {
+            System.out.println("LoginHandler: Processing login request - " + request.getDescription());
+            System.out.println("LoginHandler: Validating credentials and authenticating user...");
+            System.out.println("LoginHandler: Login request processed successfully.");
+        }
+    }
+
+    static class ConcatenatingPurchaseHandler extends Handler {
+        @Override
+        protected boolean canHandle(Request request) {
+            return request.getType() == RequestType.PURCHASE;
+        }
+
+        @Override
+        protected void processRequest(Request request) {
+            System.out.println("PurchaseHandler: Processing purchase request - " + request.getDescription());
+            System.out.println("PurchaseHandler: Validating payment information...");
+            System.out.println("PurchaseHandler: Processing payment and confirming order...");
+            System.out.println("PurchaseHandler: Purchase request processed successfully.");
+        }
+    }
+
+    static class ConcatenatingRefundHandler extends Handler {
+        @Override
+        protected boolean canHandle(Request request) {
+            return request.getType() == RequestType.REFUND;
+        }
+
+        @Override
+        protected void processRequest(Request request) {
+            System.out.println("RefundHandler: Processing refund request - " + request.getDescription());
+            System.out.println("RefundHandler: Validating refund eligibility...");
+            System.out.println("RefundHandler: Processing refund and updating records...");
+            System.out.println("RefundHandler: Refund request processed successfully.");
+        }
+    }
+
+    static class ConcatenatingComplaintHandler extends Handler {
+        @Override
+        protected boolean canHandle(Request request) {
+            return request.getType() == RequestType.COMPLAINT;
+        }
+
+        @Override
+        protected void processRequest(Request request) {
+            System.out.println("ComplaintHandler: Processing complaint request - " + request.getDescription());
+            System.out.println("ComplaintHandler: Recording complaint details...");
+            System.out.println("ComplaintHandler: Escalating to appropriate department...");
+            System.out.println("ComplaintHandler: Complaint request processed successfully.");
+        }
+    }
+
+    static class ConcatenatingTechnicalSupportHandler extends Handler {
+        @Override
+        protected boolean canHandle(Request request) {
+            return request.getType() == RequestType.TECHNICAL_SUPPORT;
+        }
+
+        @Override
+        protected void processRequest(Request request) {
+            System.out.println("TechnicalSupportHandler: Processing technical support request - " + request.getDescription());
+            System.out.println("TechnicalSupportHandler: Analyzing technical issue...");
+            System.out.println("TechnicalSupportHandler: Providing technical assistance...");
+            System.out.println("TechnicalSupportHandler: Technical support request processed successfully.");
+        }
+    }
+
+    static class ConcatenatingGeneralInquiryHandler extends Handler {
+        @Override
+        protected boolean canHandle(Request request) {
+            return request.getType() == RequestType.GENERAL_INQUIRY;
+        }
+
+        @Override
+        protected void processRequest(Request request) {
+            System.out.println("GeneralInquiryHandler: Processing general inquiry request - " + request.getDescription());
+            System.out.println("GeneralInquiryHandler: Providing general information...");
+            System.out.println("GeneralInquiryHandler: Directing to appropriate resources...");
+            System.out.println("GeneralInquiryHandler: General inquiry request processed successfully.");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.codeposito.creational.builder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and allocation of getting a preset computer from the director, compared with building it
+ * through all setters and validation as the director did before presets were cached, and of deriving
+ * a variant with toBuilder(). Run with ./gradlew jmh and compare the score and gc.alloc.rate.norm columns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComputerDirectorBenchmark {
+    private final ComputerDirector director = new ComputerDirector();
+
+    @Benchmark
+    public Computer cachedPreset() {
+        return director.buildGamingComputer();
+    }
+
+    @Benchmark
+    public Computer rebuiltPreset() {
+        return new ComputerBuilder()
+                .cpu("Intel Core i9-13900K")
+                .ram("32GB DDR5-6000")
+                .storage("2TB NVMe SSD")
+                .gpu("NVIDIA RTX 4090")
+                .motherboard("ASUS ROG Maximus Z790 Hero")
+                .powerSupply("1000W 80+ Gold")
+                .cooling("Liquid Cooling AIO 360mm")
+                .hasWifi(true)
+                .hasBluetooth(true)
+                .caseType("Full Tower ATX")
+                .build();
+    }
+
+    @Benchmark
+    public Computer derivedVariant() {
+        return director.buildGamingComputer().toBuilder()
+                .gpu("NVIDIA RTX 4080")
+                .build();
+    }
+}
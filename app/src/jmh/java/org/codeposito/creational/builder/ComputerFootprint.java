@@ -0,0 +1,83 @@
+package org.codeposito.creational.builder;
+
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Prints the memory footprint of Computer instances measured with JOL, compared with the previous
+ * layout of ten fields holding each instance's own component strings.
+ * The configurations are read from fresh strings, as they would be when parsed from a request or
+ * a file, so the previous layout retains one copy of every description per instance.
+ * Run with ./gradlew computerFootprint.
+ */
+public class ComputerFootprint {
+    private static final int CONFIGURATIONS = 100_000;
+    private static final String[] CPUS = {"Intel Core i9-13900K", "Intel Core i5-13400", "AMD Ryzen 5 5600G", "AMD Ryzen 9 7950X"};
+    private static final String[] RAMS = {"8GB DDR4-3200", "16GB DDR4-3200", "32GB DDR5-6000", "64GB DDR5-5200"};
+    private static final String[] STORAGES = {"256GB SATA SSD", "512GB NVMe SSD", "2TB NVMe SSD", "4TB NVMe SSD"};
+    private static final String[] GPUS = {"Integrated Graphics", "NVIDIA RTX 4090", "NVIDIA RTX A5000"};
+
+    public static void main(String[] args) {
+        System.out.println(ClassLayout.parseClass(LegacyComputer.class).toPrintable());
+        System.out.println(ClassLayout.parseClass(Computer.class).toPrintable());
+
+        LegacyComputer[] legacy = new LegacyComputer[CONFIGURATIONS];
+        Computer[] compact = new Computer[CONFIGURATIONS];
+        for (int i = 0; i < CONFIGURATIONS; i++) {
+            String cpu = parsed(CPUS[i % CPUS.length]);
+            String ram = parsed(RAMS[i / 3 % RAMS.length]);
+            String storage = parsed(STORAGES[i / 7 % STORAGES.length]);
+            String gpu = parsed(GPUS[i / 11 % GPUS.length]);
+            boolean wifi = i % 2 == 0;
+            legacy[i] = new LegacyComputer(cpu, ram, storage, gpu, parsed("ATX Motherboard"), parsed("650W 80+ Gold"),
+                    parsed("Stock Cooler"), wifi, true, parsed("ATX Mid Tower"));
+            compact[i] = new ComputerBuilder()
+                    .cpu(cpu).ram(ram).storage(storage).gpu(gpu)
+                    .motherboard(parsed("ATX Motherboard")).powerSupply(parsed("650W 80+ Gold"))
+                    .hasWifi(wifi).hasBluetooth(true)
+                    .build();
+        }
+
+        long legacyBytes = GraphLayout.parseInstance((Object) legacy).totalSize();
+        long compactBytes = GraphLayout.parseInstance((Object) compact).totalSize();
+        long catalogBytes = GraphLayout.parseInstance(ComponentCatalog.shared()).totalSize();
+        System.out.printf("Previous layout: %,d bytes, %.1f bytes per configuration%n",
+                legacyBytes, (double) legacyBytes / CONFIGURATIONS);
+        System.out.printf("Compact layout:  %,d bytes, %.1f bytes per configuration, plus %,d bytes of shared catalog%n",
+                compactBytes, (double) compactBytes / CONFIGURATIONS, catalogBytes);
+    }
+
+    private static String parsed(String value) {
+        return new String(value.toCharArray());
+    }
+
+    /**
+     * The field layout Computer had before component interning.
+     */
+    static class LegacyComputer {
+        final String cpu;
+        final String ram;
+        final String storage;
+        final String gpu;
+        final String motherboard;
+        final String powerSupply;
+        final String cooling;
+        final boolean hasWifi;
+        final boolean hasBluetooth;
+        final String caseType;
+
+        LegacyComputer(String cpu, String ram, String storage, String gpu, String motherboard, String powerSupply,
+                       String cooling, boolean hasWifi, boolean hasBluetooth, String caseType) {
+            this.cpu = cpu;
+            this.ram = ram;
+            this.storage = storage;
+            this.gpu = gpu;
+            this.motherboard = motherboard;
+            this.powerSupply = powerSupply;
+            this.cooling = cooling;
+            this.hasWifi = hasWifi;
+            this.hasBluetooth = hasBluetooth;
+            this.caseType = caseType;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.codeposito.creational.prototype;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation of creating and cloning documents: a copy-on-write clone, a deep clone,
+ * a clone followed by an edit, and new documents stamped by the system or the coarse clock.
+ * Run with ./gradlew jmh -PjmhIncludes=DocumentCloneBenchmark; ops/s is the score and bytes per
+ * document the gc.alloc.rate.norm column.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DocumentCloneBenchmark {
+    @Param({"SYSTEM", "COARSE"})
+    String clock;
+
+    @Param({"1000", "1000000"})
+    int contentLength;
+
+    private DocumentClock documentClock;
+    private String content;
+    private Document template;
+
+    @Setup
+    public void setUp() {
+        documentClock = clock.equals("COARSE") ? DocumentClock.coarse() : DocumentClock.system();
+        content = "x".repeat(contentLength);
+        template = new Document("Template", content, documentClock);
+        template.addTag("template");
+        template.getMetadata().setAuthor("Benchmark");
+    }
+
+    @Benchmark
+    public Document copyOnWriteClone() {
+        return template.clone();
+    }
+
+    @Benchmark
+    public Document deepClone() {
+        return template.deepClone();
+    }
+
+    @Benchmark
+    public Document cloneAndEdit() {
+        Document document = template.clone();
+        document.insertContent(contentLength / 2, "edited");
+        document.getMetadata().setVersion("2.0");
+        return document;
+    }
+
+    @Benchmark
+    public Document newDocument() {
+        return new Document("Document", content, documentClock);
+    }
+}
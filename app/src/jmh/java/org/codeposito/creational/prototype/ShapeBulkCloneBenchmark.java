@@ -0,0 +1,59 @@
+package org.codeposito.creational.prototype;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per shape of stamping out a frame of circles: one getShape call per shape, the bulk
+ * getShapes and cloneInto calls, and a CircleBatch. Run with ./gradlew jmh -PjmhIncludes=ShapeBulkCloneBenchmark;
+ * the score is nanoseconds per shape and gc.alloc.rate.norm the bytes per frame.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShapeBulkCloneBenchmark {
+    private static final int FRAME_SIZE = 4096;
+
+    private final Shape[] frame = new Shape[FRAME_SIZE];
+
+    @Benchmark
+    @OperationsPerInvocation(FRAME_SIZE)
+    public Shape[] perShape() {
+        for (int i = 0; i < FRAME_SIZE; i++) {
+            frame[i] = ShapeRegistry.getShape("red-circle");
+        }
+        return frame;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAME_SIZE)
+    public Shape[] getShapes() {
+        return ShapeRegistry.getShapes("red-circle", FRAME_SIZE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAME_SIZE)
+    public Shape[] cloneInto() {
+        ShapeRegistry.cloneInto("red-circle", frame);
+        return frame;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAME_SIZE)
+    public CircleBatch circleBatch() {
+        return ShapeRegistry.getCircleBatch("red-circle", FRAME_SIZE);
+    }
+}
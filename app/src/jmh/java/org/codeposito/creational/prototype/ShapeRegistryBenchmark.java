@@ -0,0 +1,91 @@
+package org.codeposito.creational.prototype;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of ShapeRegistry.getShape from 1, 4 or all available threads, and of readers running
+ * while another thread keeps registering a prototype. Lookups take no lock, so the score should grow
+ * with the thread count until the clone allocation becomes the limit.
+ * Run with ./gradlew jmh -PjmhIncludes=ShapeRegistryBenchmark; ops/s is the score.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShapeRegistryBenchmark {
+    private static final String[] KEYS = {"red-circle", "blue-circle", "green-rectangle", "yellow-rectangle"};
+
+    /**
+     * Per-thread cycle through the default prototype keys.
+     */
+    @State(Scope.Thread)
+    public static class KeyStream {
+        int next;
+
+        String next() {
+            String key = KEYS[next];
+            next = (next + 1) & (KEYS.length - 1);
+            return key;
+        }
+    }
+
+    /**
+     * Prototype the writer thread keeps registering under its own key.
+     */
+    @State(Scope.Group)
+    public static class Writer {
+        Circle prototype;
+
+        @Setup
+        public void setUp() {
+            prototype = new Circle("orange", 0, 0, 25.0);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Shape singleThread(KeyStream keys) {
+        return ShapeRegistry.getShape(keys.next());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Shape fourThreads(KeyStream keys) {
+        return ShapeRegistry.getShape(keys.next());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Shape allThreads(KeyStream keys) {
+        return ShapeRegistry.getShape(keys.next());
+    }
+
+    @Benchmark
+    @Group("readWhileRegistering")
+    @GroupThreads(3)
+    public Shape reader(KeyStream keys) {
+        return ShapeRegistry.getShape(keys.next());
+    }
+
+    @Benchmark
+    @Group("readWhileRegistering")
+    @GroupThreads(1)
+    public void writer(Writer writer) {
+        ShapeRegistry.registerShape("benchmark-circle", writer.prototype);
+    }
+}
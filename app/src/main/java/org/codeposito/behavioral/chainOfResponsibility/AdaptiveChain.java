@@ -0,0 +1,203 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Handler chain that reorders itself by observed match frequency.
+ * Requests are dispatched over an immutable handler order, and matches are counted per handler.
+ * Every {@code reorderInterval} dispatches on average, a new order with the most frequently
+ * matching handlers first is computed and published with a lock-free swap. The dispatching thread
+ * whose turn it is skips the reorder if another one is in progress, so dispatching threads never
+ * block on a reorder. Older matches decay by half on every reorder so the order follows shifts
+ * in the request mix.
+ * Pinned handlers keep their declared position, and the other handlers are only reordered within
+ * the run between two pinned handlers, so no handler ever moves across a pinned one. Handlers whose
+ * canHandle depends on more than the type and handlers whose declared types overlap with another
+ * handler are pinned automatically, because moving them could change which handler wins.
+ * Handlers that control admission, such as the {@link LoadSheddingHandler}s, are pinned as well and
+ * dispatch continues past them once they admit the request, so the matches behind them are counted.
+ */
+public class AdaptiveChain {
+    private final Handler[] declared;
+    private final boolean[] pinned;
+    private final boolean[] admission;
+    private final LongAdder[] matches;
+    private final long[] scores;
+    private final Handler tail;
+    private final int reorderInterval;
+    private final AtomicReference<Route> route;
+    // Guards pinned and scores
+    private final ReentrantLock reorderLock = new ReentrantLock();
+
+    /**
+     * Creates an adaptive chain from the declared chain.
+     * @param head The first handler of the declared chain.
+     * @param reorderInterval The mean number of dispatches between reorders, 0 to only reorder on {@link #reorder()}.
+     */
+    public AdaptiveChain(Handler head, int reorderInterval) {
+        if (reorderInterval < 0) {
+            throw new IllegalArgumentException("Reorder interval must not be negative");
+        }
+        List<Handler> handlers = CompiledChain.walk(head);
+        this.declared = handlers.toArray(new Handler[0]);
+        this.pinned = new boolean[declared.length];
+        this.admission = new boolean[declared.length];
+        this.matches = new LongAdder[declared.length];
+        this.scores = new long[declared.length];
+        this.tail = declared[declared.length - 1];
+        this.reorderInterval = reorderInterval;
+
+        Set<RequestType> claimed = EnumSet.noneOf(RequestType.class);
+        Set<RequestType> overlapping = EnumSet.noneOf(RequestType.class);
+        for (Handler handler : declared) {
+            for (RequestType type : handler.getHandledTypes()) {
+                if (!claimed.add(type)) {
+                    overlapping.add(type);
+                }
+            }
+        }
+        for (int i = 0; i < declared.length; i++) {
+            Set<RequestType> types = declared[i].getHandledTypes();
+            admission[i] = declared[i].controlsAdmission();
+            pinned[i] = admission[i] || types.isEmpty() || !Collections.disjoint(types, overlapping);
+            matches[i] = new LongAdder();
+        }
+
+        int[] identity = new int[declared.length];
+        Arrays.setAll(identity, i -> i);
+        this.route = new AtomicReference<>(new Route(declared.clone(), identity));
+    }
+
+    /**
+     * Keeps a handler at its declared position regardless of its match frequency.
+     * @param handler A handler of the declared chain.
+     * @return This chain, for method chaining.
+     */
+    public AdaptiveChain pin(Handler handler) {
+        for (int i = 0; i < declared.length; i++) {
+            if (declared[i] == handler) {
+                reorderLock.lock();
+                try {
+                    pinned[i] = true;
+                } finally {
+                    reorderLock.unlock();
+                }
+                return this;
+            }
+        }
+        throw new IllegalArgumentException("Handler is not part of this chain: " + handler.getClass().getSimpleName());
+    }
+
+    /**
+     * Dispatches the request to the first handler of the current order that accepts it.
+     * @param request The request to be handled.
+     */
+    public void handle(Request request) {
+        dispatch(request, route.get(), 0);
+        if (reorderInterval > 0 && ThreadLocalRandom.current().nextInt(reorderInterval) == 0
+                && reorderLock.tryLock()) {
+            try {
+                computeOrder();
+            } finally {
+                reorderLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Dispatches the request from the given position of the order on. An admitting handler continues
+     * the dispatch itself, so that it is released once the rest of the chain is done.
+     */
+    private void dispatch(Request request, Route current, int from) {
+        Handler[] handlers = current.handlers;
+        for (int i = from; i < handlers.length; i++) {
+            int declaredIndex = current.declaredIndex[i];
+            if (admission[declaredIndex]) {
+                if (handlers[i].admit(request)) {
+                    try {
+                        dispatch(request, current, i + 1);
+                    } finally {
+                        handlers[i].release(request);
+                    }
+                }
+                return;
+            }
+            if (handlers[i].canHandle(request)) {
+                matches[declaredIndex].increment();
+                handlers[i].processRequest(request);
+                return;
+            }
+        }
+        tail.onUnhandled(request);
+    }
+
+    /**
+     * Computes a new order from the matches observed so far and publishes it.
+     * Waits for a reorder already in progress.
+     */
+    public void reorder() {
+        reorderLock.lock();
+        try {
+            computeOrder();
+        } finally {
+            reorderLock.unlock();
+        }
+    }
+
+    private void computeOrder() {
+        for (int i = 0; i < declared.length; i++) {
+            scores[i] = scores[i] / 2 + matches[i].sumThenReset();
+        }
+        Handler[] handlers = new Handler[declared.length];
+        int[] declaredIndex = new int[declared.length];
+        List<Integer> run = new ArrayList<>();
+        for (int slot = 0; slot <= declared.length; slot++) {
+            if (slot < declared.length && !pinned[slot]) {
+                run.add(slot);
+                continue;
+            }
+            // Stable sort: handlers with equal scores keep their declared relative order
+            run.sort((a, b) -> Long.compare(scores[b], scores[a]));
+            int runStart = slot - run.size();
+            for (int i = 0; i < run.size(); i++) {
+                handlers[runStart + i] = declared[run.get(i)];
+                declaredIndex[runStart + i] = run.get(i);
+            }
+            run.clear();
+            if (slot < declared.length) {
+                handlers[slot] = declared[slot];
+                declaredIndex[slot] = slot;
+            }
+        }
+        route.set(new Route(handlers, declaredIndex));
+    }
+
+    /**
+     * Returns the handlers in the order currently used for dispatch.
+     */
+    public List<Handler> getOrder() {
+        return Collections.unmodifiableList(Arrays.asList(route.get().handlers.clone()));
+    }
+
+    /**
+     * Immutable dispatch order, with the declared position of every handler for match counting.
+     */
+    private static final class Route {
+        final Handler[] handlers;
+        final int[] declaredIndex;
+
+        Route(Handler[] handlers, int[] declaredIndex) {
+            this.handlers = handlers;
+            this.declaredIndex = declaredIndex;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Chain of {@link AsyncHandler}s that hands a request to the first handler accepting it and
+ * returns the handler's stage, so callers can compose on the response instead of blocking.
+ * The stages of the chain are composed: if the handler's stage completes with an unhandled
+ * response, the request continues with the handlers after it once that stage completes.
+ * Handlers that control admission guard the handlers after them: a rejected request completes with
+ * a rejected response, an admitted one continues and is released when its stage completes.
+ * The chain is immutable and can be shared between threads.
+ */
+public class AsyncChain {
+    private final AsyncHandler[] handlers;
+    private final boolean[] admission;
+
+    /**
+     * Creates a chain.
+     * @param handlers The handlers in the order they are asked.
+     */
+    public AsyncChain(List<? extends AsyncHandler> handlers) {
+        if (handlers.isEmpty()) {
+            throw new IllegalArgumentException("Handler chain must not be empty");
+        }
+        this.handlers = handlers.toArray(new AsyncHandler[0]);
+        this.admission = new boolean[this.handlers.length];
+        for (int i = 0; i < admission.length; i++) {
+            admission[i] = this.handlers[i].controlsAdmission();
+        }
+    }
+
+    /**
+     * Creates a chain.
+     * @param handlers The handlers in the order they are asked.
+     */
+    public static AsyncChain of(AsyncHandler... handlers) {
+        return new AsyncChain(Arrays.asList(handlers));
+    }
+
+    /**
+     * Adapts every handler of an existing chain, running them on virtual threads.
+     * @param head The first handler of the chain.
+     */
+    public static AsyncChain adapt(Handler head) {
+        List<AsyncHandler> adapted = new ArrayList<>();
+        for (Handler handler : CompiledChain.walk(head)) {
+            adapted.add(new AsyncHandlerAdapter(handler));
+        }
+        return new AsyncChain(adapted);
+    }
+
+    /**
+     * Adapts every handler of an existing chain, running them on the given executor.
+     * @param head The first handler of the chain.
+     * @param executor The executor the handlers run on.
+     */
+    public static AsyncChain adapt(Handler head, Executor executor) {
+        List<AsyncHandler> adapted = new ArrayList<>();
+        for (Handler handler : CompiledChain.walk(head)) {
+            adapted.add(new AsyncHandlerAdapter(handler, executor));
+        }
+        return new AsyncChain(adapted);
+    }
+
+    /**
+     * Hands the request to the first handler that accepts it.
+     * @param request The request to be handled.
+     * @return A stage completing with the response of the handler that handled it, with a rejected
+     * response if a handler controlling admission rejected it, or with an unhandled response if no
+     * handler handled it.
+     */
+    public CompletionStage<Response> handle(Request request) {
+        return dispatch(request, 0);
+    }
+
+    private CompletionStage<Response> dispatch(Request request, int from) {
+        for (int i = from; i < handlers.length; i++) {
+            AsyncHandler handler = handlers[i];
+            if (admission[i]) {
+                if (!handler.admit(request)) {
+                    return CompletableFuture.completedFuture(Response.rejected(request, handler.getName()));
+                }
+                CompletionStage<Response> rest;
+                try {
+                    rest = dispatch(request, i + 1);
+                } catch (RuntimeException | Error e) {
+                    handler.release(request);
+                    throw e;
+                }
+                return rest.whenComplete((response, failure) -> handler.release(request));
+            }
+            if (handler.canHandle(request)) {
+                int next = i + 1;
+                return handler.handleAsync(request).thenCompose(response ->
+                        response.getStatus() == Response.Status.UNHANDLED
+                                ? dispatch(request, next)
+                                : CompletableFuture.completedFuture(response));
+            }
+        }
+        return CompletableFuture.completedFuture(Response.unhandled(request));
+    }
+
+    /**
+     * Returns the handlers in the order they are asked.
+     */
+    public List<AsyncHandler> getHandlers() {
+        return Collections.unmodifiableList(Arrays.asList(handlers));
+    }
+}
@@ -0,0 +1,201 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sink that hands handler output to a background thread through a bounded lock-free ring buffer.
+ * Producers claim a slot with a single compare-and-set and never wait: when the buffer is full the
+ * line is dropped and counted instead. The background thread drains the buffer in batches into an
+ * {@link EventWriter}, such as the console or a memory-mapped file. A line the writer fails on,
+ * with an I/O or any other runtime exception, is counted as a write failure and draining goes on.
+ */
+public final class AsyncEventSink implements RequestEventSink, AutoCloseable {
+    private static final long IDLE_PARK_NANOS = 100_000;
+    // Published in place of the message of a slot claimed after close(), compared by identity
+    private static final String SKIPPED = new String("skipped");
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final String[] sources;
+    private final String[] messages;
+    private final String[] details;
+    private final AtomicLong claimed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder writeFailures = new LongAdder();
+    private final EventWriter writer;
+    private final Thread drainer;
+    private long consumed;
+    private volatile boolean closed;
+
+    /**
+     * Creates a sink and starts its background thread.
+     * @param writer The device the lines are written to.
+     * @param capacity The number of buffered lines, rounded up to a power of two.
+     */
+    public AsyncEventSink(EventWriter writer, int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.sources = new String[size];
+        this.messages = new String[size];
+        this.details = new String[size];
+        this.writer = writer;
+        this.drainer = new Thread(this::drain, "request-event-sink");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * Creates a sink writing to {@link System#out} in the background.
+     * @param capacity The number of buffered lines.
+     */
+    public static AsyncEventSink console(int capacity) {
+        return new AsyncEventSink(new PrintStreamEventWriter(System.out), capacity);
+    }
+
+    /**
+     * Creates a sink batching lines into a memory-mapped file.
+     * @param file The file to write to, replacing its content.
+     * @param capacity The number of buffered lines.
+     */
+    public static AsyncEventSink mappedFile(Path file, int capacity) throws IOException {
+        return new AsyncEventSink(new MappedFileEventWriter(file), capacity);
+    }
+
+    @Override
+    public void onEvent(String source, String message, String detail) {
+        if (closed) {
+            dropped.increment();
+            return;
+        }
+        long position;
+        int slot;
+        while (true) {
+            position = claimed.get();
+            slot = (int) position & mask;
+            long available = sequences.get(slot) - position;
+            if (available == 0) {
+                if (claimed.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (available < 0) {
+                // The slot still holds a line from the previous lap: the buffer is full
+                dropped.increment();
+                return;
+            }
+        }
+        if (closed) {
+            // close() ran between the check above and the claim, the drainer may already be gone
+            dropped.increment();
+            messages[slot] = SKIPPED;
+            sequences.set(slot, position + 1);
+            return;
+        }
+        sources[slot] = source;
+        messages[slot] = message;
+        details[slot] = detail;
+        sequences.set(slot, position + 1);
+    }
+
+    /**
+     * Returns the number of lines dropped because the buffer was full or the sink closed.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the number of lines and flushes the writer failed on.
+     */
+    public long getWriteFailureCount() {
+        return writeFailures.sum();
+    }
+
+    /**
+     * Stops accepting lines, writes the buffered ones and closes the writer.
+     * An interrupt does not cut the wait for the background thread short, the interrupt status is
+     * set again before returning.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(drainer);
+        boolean interrupted = false;
+        while (drainer.isAlive()) {
+            try {
+                drainer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        try {
+            writer.close();
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            boolean stopping = closed;
+            int written = drainBatch();
+            if (written > 0) {
+                continue;
+            }
+            try {
+                writer.flush();
+            } catch (IOException | RuntimeException e) {
+                writeFailures.increment();
+            }
+            if (stopping) {
+                if (claimed.get() == consumed) {
+                    return;
+                }
+                // A producer claimed a slot before close() and is still filling it
+                Thread.onSpinWait();
+                continue;
+            }
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+    }
+
+    private int drainBatch() {
+        int written = 0;
+        while (written <= mask) {
+            int slot = (int) consumed & mask;
+            if (sequences.get(slot) != consumed + 1) {
+                break;
+            }
+            if (messages[slot] != SKIPPED) {
+                try {
+                    writer.write(sources[slot], messages[slot], details[slot]);
+                } catch (IOException | RuntimeException e) {
+                    writeFailures.increment();
+                }
+            }
+            sources[slot] = null;
+            messages[slot] = null;
+            details[slot] = null;
+            sequences.set(slot, consumed + mask + 1);
+            consumed++;
+            written++;
+        }
+        return written;
+    }
+}
@@ -0,0 +1,58 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Result-returning, non-blocking counterpart of {@link Handler}, for handlers that call slow back-ends.
+ * Deciding whether a request is accepted is expected to be cheap and synchronous, while handling
+ * returns a stage that completes when the work is done, so no thread has to wait on I/O.
+ * Existing handlers are turned into async handlers with {@link AsyncHandlerAdapter}.
+ */
+public interface AsyncHandler {
+
+    /**
+     * Determines if this handler accepts the request.
+     * @param request The request to be evaluated.
+     * @return true if this handler handles the request, false otherwise.
+     */
+    boolean canHandle(Request request);
+
+    /**
+     * Handles an accepted request.
+     * @param request The request to be handled.
+     * @return A stage completing with the response, or exceptionally if handling failed.
+     */
+    CompletionStage<Response> handleAsync(Request request);
+
+    /**
+     * Returns true if this handler guards the handlers after it through {@link #admit(Request)}
+     * instead of handling requests itself, like an adapted {@link LoadSheddingHandler}.
+     */
+    default boolean controlsAdmission() {
+        return false;
+    }
+
+    /**
+     * Decides whether a request may continue to the handlers after this one, see {@link Handler#admit(Request)}.
+     * Only called if {@link #controlsAdmission()} returns true.
+     * @param request The request to be admitted.
+     * @return true if the request continues, false if it was rejected.
+     */
+    default boolean admit(Request request) {
+        return true;
+    }
+
+    /**
+     * Called once the stage of a request this handler admitted has completed.
+     * @param request The admitted request.
+     */
+    default void release(Request request) {
+    }
+
+    /**
+     * Returns the name this handler reports in its responses.
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,93 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Adapts a blocking {@link Handler} such as {@link LoginHandler} to {@link AsyncHandler}.
+ * processRequest runs on the given executor, by default on a virtual thread per request, so a
+ * handler that blocks on I/O does not hold a platform thread while it waits.
+ * The response tells what the handler did: handled, rejected by its admission or unhandled when
+ * the handler does not accept the request after all, for example because it only controls admission.
+ */
+public class AsyncHandlerAdapter implements AsyncHandler {
+    private static final Executor VIRTUAL_THREADS = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Handler handler;
+    private final Executor executor;
+
+    /**
+     * Adapts a handler that runs on virtual threads.
+     * @param handler The handler to adapt, its link to a next handler is ignored.
+     */
+    public AsyncHandlerAdapter(Handler handler) {
+        this(handler, VIRTUAL_THREADS);
+    }
+
+    /**
+     * Adapts a handler that runs on the given executor.
+     * @param handler The handler to adapt, its link to a next handler is ignored.
+     * @param executor The executor processRequest runs on.
+     */
+    public AsyncHandlerAdapter(Handler handler, Executor executor) {
+        if (handler == null || executor == null) {
+            throw new IllegalArgumentException("Handler and executor must not be null");
+        }
+        this.handler = handler;
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean canHandle(Request request) {
+        return handler.canHandle(request);
+    }
+
+    @Override
+    public CompletionStage<Response> handleAsync(Request request) {
+        return CompletableFuture.supplyAsync(() -> respond(request), executor);
+    }
+
+    private Response respond(Request request) {
+        if (!handler.admit(request)) {
+            return Response.rejected(request, handler.getName());
+        }
+        try {
+            if (!handler.canHandle(request)) {
+                return Response.unhandled(request);
+            }
+            handler.processRequest(request);
+            return Response.handled(request, handler.getName());
+        } finally {
+            handler.release(request);
+        }
+    }
+
+    @Override
+    public boolean controlsAdmission() {
+        return handler.controlsAdmission();
+    }
+
+    @Override
+    public boolean admit(Request request) {
+        return handler.admit(request);
+    }
+
+    @Override
+    public void release(Request request) {
+        handler.release(request);
+    }
+
+    @Override
+    public String getName() {
+        return handler.getName();
+    }
+
+    /**
+     * Returns the adapted handler.
+     */
+    public Handler getHandler() {
+        return handler;
+    }
+}
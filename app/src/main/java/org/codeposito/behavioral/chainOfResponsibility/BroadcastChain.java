@@ -0,0 +1,175 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Scatter-gather variant of the chain of responsibility.
+ * Instead of stopping at the first handler that accepts a request, every accepting handler
+ * processes it, concurrently, on the given executor. {@link #broadcast(Request)} waits for all
+ * of them up to the configured timeout and reports which handlers completed, failed or timed out.
+ * Handlers that time out are interrupted.
+ * The handlers are called from several threads at once and must be thread-safe. Handlers that
+ * control admission, like the {@link LoadSheddingHandler}s, guard the handlers after them in a
+ * sequential chain and have no place here, so they are rejected.
+ */
+public class BroadcastChain implements AutoCloseable {
+    private final Handler[] handlers;
+    private final Handler tail;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final long timeoutNanos;
+
+    /**
+     * Creates a broadcast chain that runs every handler on its own virtual thread.
+     * The chain owns the executor of these threads, call {@link #close()} when done with it.
+     * @param head The first handler of the chain.
+     * @param timeout The maximum time to wait for the handlers of one request.
+     * @param unit The unit of timeout.
+     */
+    public BroadcastChain(Handler head, long timeout, TimeUnit unit) {
+        this(head, Executors.newVirtualThreadPerTaskExecutor(), true, timeout, unit);
+    }
+
+    /**
+     * Creates a broadcast chain.
+     * @param head The first handler of the chain.
+     * @param executor The executor the handlers run on, for example a fork-join pool.
+     * @param timeout The maximum time to wait for the handlers of one request.
+     * @param unit The unit of timeout.
+     */
+    public BroadcastChain(Handler head, Executor executor, long timeout, TimeUnit unit) {
+        this(head, executor, false, timeout, unit);
+    }
+
+    private BroadcastChain(Handler head, Executor executor, boolean ownsExecutor, long timeout, TimeUnit unit) {
+        List<Handler> chain = CompiledChain.walk(head);
+        for (Handler handler : chain) {
+            if (handler.controlsAdmission()) {
+                throw new IllegalArgumentException(handler.getName() + " controls admission and cannot be part of a broadcast chain");
+            }
+        }
+        this.handlers = chain.toArray(new Handler[0]);
+        this.tail = handlers[handlers.length - 1];
+        this.executor = executor;
+        this.ownedExecutor = ownsExecutor ? (ExecutorService) executor : null;
+        this.timeoutNanos = unit.toNanos(timeout);
+    }
+
+    /**
+     * Runs every handler that accepts the request concurrently and waits for them.
+     * Handlers still running when the timeout expires are reported as timed out, interrupted and
+     * no longer awaited. If the caller is interrupted, every handler still running is interrupted too.
+     * @param request The request to be handled.
+     * @return The outcome of every accepting handler.
+     * @throws InterruptedException if the caller is interrupted while waiting.
+     */
+    public BroadcastResult broadcast(Request request) throws InterruptedException {
+        List<Handler> matched = new ArrayList<>();
+        for (Handler handler : handlers) {
+            if (handler.canHandle(request)) {
+                matched.add(handler);
+            }
+        }
+        if (matched.isEmpty()) {
+            tail.onUnhandled(request);
+            return new BroadcastResult(new ArrayList<>(), new IdentityHashMap<>(), new ArrayList<>());
+        }
+
+        List<FutureTask<Void>> tasks = new ArrayList<>(matched.size());
+        for (Handler handler : matched) {
+            FutureTask<Void> task = new FutureTask<>(() -> handler.processRequest(request), null);
+            tasks.add(task);
+            executor.execute(task);
+        }
+
+        long deadline = System.nanoTime() + timeoutNanos;
+        List<Handler> completed = new ArrayList<>();
+        Map<Handler, Throwable> failed = new IdentityHashMap<>();
+        List<Handler> timedOut = new ArrayList<>();
+        try {
+            for (int i = 0; i < matched.size(); i++) {
+                Handler handler = matched.get(i);
+                FutureTask<Void> task = tasks.get(i);
+                try {
+                    task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    completed.add(handler);
+                } catch (ExecutionException e) {
+                    failed.put(handler, e.getCause());
+                } catch (TimeoutException e) {
+                    // Interrupts the handler; if it finished in the meantime its outcome is taken as is
+                    if (task.cancel(true)) {
+                        timedOut.add(handler);
+                    } else if (task.state() == Future.State.FAILED) {
+                        failed.put(handler, task.exceptionNow());
+                    } else {
+                        completed.add(handler);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            for (FutureTask<Void> task : tasks) {
+                task.cancel(true);
+            }
+            throw e;
+        }
+        return new BroadcastResult(completed, failed, timedOut);
+    }
+
+    /**
+     * Shuts down the executor the chain created itself and waits for handlers still running on it.
+     * An executor passed to the constructor is left alone.
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.close();
+        }
+    }
+
+    /**
+     * Outcome of broadcasting one request.
+     */
+    public static final class BroadcastResult {
+        private final List<Handler> completed;
+        private final Map<Handler, Throwable> failed;
+        private final List<Handler> timedOut;
+
+        BroadcastResult(List<Handler> completed, Map<Handler, Throwable> failed, List<Handler> timedOut) {
+            this.completed = Collections.unmodifiableList(completed);
+            this.failed = Collections.unmodifiableMap(failed);
+            this.timedOut = Collections.unmodifiableList(timedOut);
+        }
+
+        public List<Handler> getCompleted() { return completed; }
+        public Map<Handler, Throwable> getFailed() { return failed; }
+        public List<Handler> getTimedOut() { return timedOut; }
+
+        /**
+         * Returns true if at least one handler accepted the request and all of them completed.
+         */
+        public boolean isSuccessful() {
+            return !completed.isEmpty() && failed.isEmpty() && timedOut.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return "BroadcastResult{" +
+                    "completed=" + completed.size() +
+                    ", failed=" + failed.size() +
+                    ", timedOut=" + timedOut.size() +
+                    '}';
+        }
+    }
+}
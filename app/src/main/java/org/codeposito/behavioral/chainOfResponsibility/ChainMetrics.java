@@ -0,0 +1,164 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Instrumentation for a handler chain.
+ * {@link #instrument(Handler)} builds a copy of the chain in which every handler is wrapped by a
+ * recording decorator. The decorated chain can be walked with {@link Handler#handle(Request)} or
+ * compiled into a {@link CompiledChain}, and records per handler how often canHandle was asked,
+ * how often it matched or missed and how long processRequest took, plus how deep matched
+ * requests travelled and how many requests found no handler at all.
+ */
+public class ChainMetrics {
+    private final List<HandlerMetrics> handlerMetrics = new ArrayList<>();
+    private final LongAdder unhandled = new LongAdder();
+    private final AtomicLongArray matchDepths;
+    private final Handler chain;
+
+    private ChainMetrics(Handler head) {
+        this.chain = HandlerDecorator.decorateChain(head, handler -> {
+            HandlerMetrics metrics = new HandlerMetrics(handler.getName());
+            handlerMetrics.add(metrics);
+            return new InstrumentedHandler(handler, this, metrics, handlerMetrics.size());
+        });
+        this.matchDepths = new AtomicLongArray(handlerMetrics.size() + 1);
+    }
+
+    /**
+     * Creates an instrumented copy of the chain. The original chain is left untouched.
+     * @param head The first handler of the chain.
+     * @return The metrics, holding the instrumented chain.
+     */
+    public static ChainMetrics instrument(Handler head) {
+        return new ChainMetrics(head);
+    }
+
+    /**
+     * Returns the first handler of the instrumented chain.
+     */
+    public Handler getChain() {
+        return chain;
+    }
+
+    /**
+     * Returns the live metrics of every handler in chain order.
+     */
+    public List<HandlerMetrics> getHandlerMetrics() {
+        return Collections.unmodifiableList(handlerMetrics);
+    }
+
+    /**
+     * Returns the number of requests that no handler accepted.
+     */
+    public long getUnhandledCount() {
+        return unhandled.sum();
+    }
+
+    void recordMatch(int depth) {
+        matchDepths.incrementAndGet(depth);
+    }
+
+    void recordUnhandled() {
+        unhandled.increment();
+    }
+
+    /**
+     * Returns a point-in-time copy of all counters.
+     */
+    public Snapshot snapshot() {
+        List<HandlerMetrics.Snapshot> handlers = new ArrayList<>(handlerMetrics.size());
+        for (HandlerMetrics metrics : handlerMetrics) {
+            handlers.add(metrics.snapshot());
+        }
+        long[] depths = new long[matchDepths.length()];
+        for (int i = 0; i < depths.length; i++) {
+            depths[i] = matchDepths.get(i);
+        }
+        return new Snapshot(Collections.unmodifiableList(handlers), unhandled.sum(), depths);
+    }
+
+    /**
+     * Discards all recorded values.
+     */
+    public void reset() {
+        for (HandlerMetrics metrics : handlerMetrics) {
+            metrics.reset();
+        }
+        unhandled.reset();
+        for (int i = 0; i < matchDepths.length(); i++) {
+            matchDepths.set(i, 0);
+        }
+    }
+
+    /**
+     * Immutable copy of the metrics of a chain.
+     */
+    public static final class Snapshot {
+        private final List<HandlerMetrics.Snapshot> handlers;
+        private final long unhandledCount;
+        private final long[] matchDepths;
+
+        Snapshot(List<HandlerMetrics.Snapshot> handlers, long unhandledCount, long[] matchDepths) {
+            this.handlers = handlers;
+            this.unhandledCount = unhandledCount;
+            this.matchDepths = matchDepths;
+        }
+
+        public List<HandlerMetrics.Snapshot> getHandlers() { return handlers; }
+        public long getUnhandledCount() { return unhandledCount; }
+
+        /**
+         * Returns the combined metrics of this snapshot and another one of a chain with the same handlers.
+         * @param other The snapshot to merge in, for example of another copy of the same chain.
+         */
+        public Snapshot merge(Snapshot other) {
+            if (handlers.size() != other.handlers.size()) {
+                throw new IllegalArgumentException("Snapshots of chains with different handlers cannot be merged");
+            }
+            List<HandlerMetrics.Snapshot> merged = new ArrayList<>(handlers.size());
+            for (int i = 0; i < handlers.size(); i++) {
+                merged.add(handlers.get(i).merge(other.handlers.get(i)));
+            }
+            long[] depths = matchDepths.clone();
+            for (int i = 0; i < depths.length; i++) {
+                depths[i] += other.matchDepths[i];
+            }
+            return new Snapshot(Collections.unmodifiableList(merged), unhandledCount + other.unhandledCount, depths);
+        }
+
+        /**
+         * Returns how many requests were matched by the handler at the given 1-based position.
+         * @param depth The position of the handler in the chain, starting at 1.
+         */
+        public long getMatchesAtDepth(int depth) {
+            return matchDepths[depth];
+        }
+
+        /**
+         * Returns the mean position of the matching handler over all matched requests.
+         */
+        public double getMeanMatchDepth() {
+            long matches = 0;
+            long weighted = 0;
+            for (int depth = 1; depth < matchDepths.length; depth++) {
+                matches += matchDepths[depth];
+                weighted += depth * matchDepths[depth];
+            }
+            return matches == 0 ? 0 : (double) weighted / matches;
+        }
+
+        @Override
+        public String toString() {
+            return "ChainMetrics{" +
+                    "handlers=" + handlers +
+                    ", unhandled=" + unhandledCount +
+                    ", meanMatchDepth=" + getMeanMatchDepth() +
+                    '}';
+        }
+    }
+}
@@ -47,5 +47,20 @@ public class ChainOfResponsibilityClient {
         Request unknownRequest = new Request(RequestType.GENERAL_INQUIRY, "Unknown request", 7);
         // Note: This will be handled by the GeneralInquiryHandler since it's the last in the chain
         loginHandler.handle(unknownRequest);
+
+        // Demonstrate type-indexed dispatch: the request goes straight to its handler
+        System.out.println("\n=== Compiled Chain Dispatch ===");
+        CompiledChain compiledChain = CompiledChain.compile(loginHandler);
+        compiledChain.handle(new Request(RequestType.GENERAL_INQUIRY, "Compiled dispatch request", 6));
+
+        // Demonstrate per-handler instrumentation
+        System.out.println("\n=== Chain Metrics ===");
+        ChainMetrics metrics = ChainMetrics.instrument(loginHandler);
+        for (Request request : requests) {
+            metrics.getChain().handle(request);
+        }
+        for (HandlerMetrics.Snapshot handlerSnapshot : metrics.snapshot().getHandlers()) {
+            System.out.println(handlerSnapshot);
+        }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,134 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Immutable, declarative description of a handler chain.
+ * Instead of linking handler instances with {@link Handler#setNext(Handler)}, a spec lists how to
+ * create each handler, and every call to {@link #instantiate()} or {@link #compile()} builds a
+ * fresh, independent chain from it. A compiled chain is never relinked and is published through
+ * final fields, so it can be shared between threads without further synchronization; independent
+ * copies for several threads come from {@link ShardedChain}.
+ */
+public final class ChainSpec {
+    private final List<Supplier<? extends Handler>> factories;
+    private final RequestEventSink eventSink;
+    private final boolean instrumented;
+
+    private ChainSpec(List<Supplier<? extends Handler>> factories, RequestEventSink eventSink, boolean instrumented) {
+        this.factories = factories;
+        this.eventSink = eventSink;
+        this.instrumented = instrumented;
+    }
+
+    /**
+     * Starts a new spec.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a new chain with new handler instances.
+     * @return The first handler of the chain.
+     */
+    public Handler instantiate() {
+        Handler head = null;
+        Handler previous = null;
+        for (Supplier<? extends Handler> factory : factories) {
+            Handler handler = factory.get();
+            if (handler == null || handler.getNext() != null) {
+                throw new IllegalStateException("Handler factories must return a new, unlinked handler on every call");
+            }
+            if (previous == null) {
+                head = handler;
+            } else {
+                previous.setNext(handler);
+            }
+            previous = handler;
+        }
+        if (eventSink != null) {
+            head.setChainEventSink(eventSink);
+        }
+        return head;
+    }
+
+    /**
+     * Creates a new chain with new handler instances and compiles it.
+     */
+    public CompiledChain compile() {
+        return CompiledChain.compile(instantiate());
+    }
+
+    /**
+     * Returns the number of handlers in the chain.
+     */
+    public int size() {
+        return factories.size();
+    }
+
+    /**
+     * Returns true if chains built from this spec by a {@link ShardedChain} record {@link ChainMetrics}.
+     */
+    public boolean isInstrumented() {
+        return instrumented;
+    }
+
+    /**
+     * Collects the handlers of a {@link ChainSpec} in chain order.
+     */
+    public static final class Builder {
+        private final List<Supplier<? extends Handler>> factories = new ArrayList<>();
+        private RequestEventSink eventSink;
+        private boolean instrumented;
+
+        private Builder() {
+        }
+
+        /**
+         * Appends a handler to the chain.
+         * @param factory Creates a new instance of the handler, for example {@code LoginHandler::new}.
+         * @return This builder, for method chaining.
+         */
+        public Builder then(Supplier<? extends Handler> factory) {
+            if (factory == null) {
+                throw new IllegalArgumentException("Handler factory must not be null");
+            }
+            factories.add(factory);
+            return this;
+        }
+
+        /**
+         * Sets the sink every handler of the chain writes its output to.
+         * @param eventSink The sink, shared by all chains built from the spec.
+         * @return This builder, for method chaining.
+         */
+        public Builder eventSink(RequestEventSink eventSink) {
+            this.eventSink = eventSink;
+            return this;
+        }
+
+        /**
+         * Makes every shard of a {@link ShardedChain} built from the spec record {@link ChainMetrics}.
+         * Off by default, because the recording decorators time every handler that processes a request.
+         * @return This builder, for method chaining.
+         */
+        public Builder instrumented() {
+            this.instrumented = true;
+            return this;
+        }
+
+        /**
+         * Creates the immutable spec.
+         */
+        public ChainSpec build() {
+            if (factories.isEmpty()) {
+                throw new IllegalStateException("A chain needs at least one handler");
+            }
+            return new ChainSpec(Collections.unmodifiableList(new ArrayList<>(factories)), eventSink, instrumented);
+        }
+    }
+}
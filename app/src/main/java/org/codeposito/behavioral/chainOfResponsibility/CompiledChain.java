@@ -0,0 +1,146 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable, precompiled view of a handler chain that dispatches requests by type.
+ * Handlers that declare their request types through {@link Handler#getHandledTypes()} are
+ * indexed by {@link RequestType} ordinal, so a request reaches its handler with one array lookup
+ * instead of a walk over the whole chain.
+ * Handlers whose canHandle depends on more than the type keep their declared position and are
+ * still consulted in order, so the first-match semantics of {@link Handler#handle(Request)} are preserved.
+ * Handlers that control admission, such as the {@link LoadSheddingHandler}s, are kept as guards at
+ * their position as well: a request has to be admitted by each of them before the dispatch continues
+ * with the guards and the target after it.
+ */
+public final class CompiledChain {
+    private static final Handler[] NO_GUARDS = new Handler[0];
+    private static final boolean[] NO_ADMISSION = new boolean[0];
+
+    private final List<Handler> handlers;
+    private final Handler[][] guards;
+    // Per type and guard, true if the guard controls admission rather than being asked canHandle
+    private final boolean[][] admission;
+    private final Handler[] targets;
+    private final Handler tail;
+
+    private CompiledChain(List<Handler> handlers, Handler[][] guards, boolean[][] admission, Handler[] targets) {
+        this.handlers = handlers;
+        this.guards = guards;
+        this.admission = admission;
+        this.targets = targets;
+        this.tail = handlers.get(handlers.size() - 1);
+    }
+
+    /**
+     * Compiles the chain starting at the given handler.
+     * The chain must not be modified through {@link Handler#setNext(Handler)} afterwards,
+     * compile it again instead.
+     * @param head The first handler of the chain.
+     * @return The compiled chain.
+     */
+    public static CompiledChain compile(Handler head) {
+        List<Handler> handlers = walk(head);
+        RequestType[] types = RequestType.values();
+        Handler[][] guards = new Handler[types.length][];
+        boolean[][] admission = new boolean[types.length][];
+        Handler[] targets = new Handler[types.length];
+
+        for (RequestType type : types) {
+            List<Handler> typeGuards = new ArrayList<>();
+            List<Boolean> typeAdmission = new ArrayList<>();
+            for (Handler handler : handlers) {
+                Set<RequestType> handledTypes = handler.getHandledTypes();
+                if (handler.controlsAdmission()) {
+                    typeGuards.add(handler);
+                    typeAdmission.add(true);
+                } else if (handledTypes.isEmpty()) {
+                    // canHandle depends on more than the type, so it has to be asked
+                    typeGuards.add(handler);
+                    typeAdmission.add(false);
+                } else if (handledTypes.contains(type)) {
+                    targets[type.ordinal()] = handler;
+                    break;
+                }
+            }
+            guards[type.ordinal()] = typeGuards.isEmpty() ? NO_GUARDS : typeGuards.toArray(NO_GUARDS);
+            admission[type.ordinal()] = typeGuards.isEmpty() ? NO_ADMISSION : new boolean[typeGuards.size()];
+            for (int i = 0; i < typeAdmission.size(); i++) {
+                admission[type.ordinal()][i] = typeAdmission.get(i);
+            }
+        }
+
+        return new CompiledChain(Collections.unmodifiableList(handlers), guards, admission, targets);
+    }
+
+    /**
+     * Collects the handlers of a chain in declared order.
+     * @param head The first handler of the chain.
+     * @return The handlers of the chain.
+     */
+    static List<Handler> walk(Handler head) {
+        if (head == null) {
+            throw new IllegalArgumentException("Handler chain must not be empty");
+        }
+        List<Handler> handlers = new ArrayList<>();
+        Set<Handler> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Handler handler = head; handler != null; handler = handler.getNext()) {
+            if (!seen.add(handler)) {
+                throw new IllegalArgumentException("Handler chain contains a cycle at " + handler.getClass().getSimpleName());
+            }
+            handlers.add(handler);
+        }
+        return handlers;
+    }
+
+    /**
+     * Dispatches the request to the first handler of the chain that accepts it.
+     * @param request The request to be handled.
+     */
+    public void handle(Request request) {
+        dispatch(request, request.getType().ordinal(), 0);
+    }
+
+    /**
+     * Dispatches the request from the given guard on. An admitting guard continues the dispatch
+     * itself, so that it is released once the rest of the chain is done.
+     */
+    private void dispatch(Request request, int ordinal, int from) {
+        Handler[] typeGuards = guards[ordinal];
+        boolean[] typeAdmission = admission[ordinal];
+        for (int i = from; i < typeGuards.length; i++) {
+            Handler guard = typeGuards[i];
+            if (typeAdmission[i]) {
+                if (guard.admit(request)) {
+                    try {
+                        dispatch(request, ordinal, i + 1);
+                    } finally {
+                        guard.release(request);
+                    }
+                }
+                return;
+            }
+            if (guard.canHandle(request)) {
+                guard.processRequest(request);
+                return;
+            }
+        }
+        Handler target = targets[ordinal];
+        if (target != null) {
+            target.processRequest(request);
+        } else {
+            tail.onUnhandled(request);
+        }
+    }
+
+    /**
+     * Returns the handlers of the compiled chain in declared order.
+     */
+    public List<Handler> getHandlers() {
+        return handlers;
+    }
+}
@@ -1,5 +1,8 @@
 package org.codeposito.behavioral.chainOfResponsibility;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Concrete handler for processing complaint requests.
  */
@@ -10,11 +13,16 @@ public class ComplaintHandler extends Handler {
         return request.getType() == RequestType.COMPLAINT;
     }
 
+    @Override
+    protected Set<RequestType> getHandledTypes() {
+        return EnumSet.of(RequestType.COMPLAINT);
+    }
+
     @Override
     protected void processRequest(Request request) {
-        System.out.println("ComplaintHandler: Processing complaint request - " + request.getDescription());
-        System.out.println("ComplaintHandler: Recording complaint details...");
-        System.out.println("ComplaintHandler: Escalating to appropriate department...");
-        System.out.println("ComplaintHandler: Complaint request processed successfully.");
+        emit("Processing complaint request - ", request.getDescription());
+        emit("Recording complaint details...");
+        emit("Escalating to appropriate department...");
+        emit("Complaint request processed successfully.");
     }
 } 
\ No newline at end of file
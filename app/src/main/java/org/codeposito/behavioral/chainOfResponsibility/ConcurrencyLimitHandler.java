@@ -0,0 +1,89 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Load shedding stage that bounds the number of requests of each type being processed at once
+ * by the handlers after it. A request is admitted by incrementing the in-flight counter of its
+ * type with one compare-and-set and released when the rest of the chain returns; when the counter
+ * is at its limit the request is rejected after a single read.
+ * Types without a limit pass through unchecked. Limits are set before the chain is used, a limit
+ * added while requests of its type are in flight would release requests that were never counted.
+ */
+public class ConcurrencyLimitHandler extends LoadSheddingHandler {
+    private static final long UNLIMITED = -1;
+
+    private long[] limits = new long[RequestType.values().length];
+    private AtomicLongArray inFlight = new AtomicLongArray(RequestType.values().length * STRIDE);
+
+    /**
+     * Creates a stage without limits, add them with {@link #limit(RequestType, int)}.
+     */
+    public ConcurrencyLimitHandler() {
+        Arrays.fill(limits, UNLIMITED);
+    }
+
+    /**
+     * Limits the number of requests of a type processed concurrently.
+     * @param type The request type.
+     * @param maxConcurrent The maximum number of requests in flight.
+     * @return This handler, for method chaining.
+     */
+    public ConcurrencyLimitHandler limit(RequestType type, int maxConcurrent) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Concurrency limit must be positive");
+        }
+        limits[type.ordinal()] = maxConcurrent;
+        return this;
+    }
+
+    /**
+     * Returns the number of requests of a type currently processed after this handler.
+     * @param type The request type.
+     */
+    public long getInFlight(RequestType type) {
+        return inFlight.get(type.ordinal() * STRIDE);
+    }
+
+    /**
+     * Shares the limits and in-flight counters of the owner, limits set on either apply to both.
+     */
+    @Override
+    protected void shareBudgetOf(LoadSheddingHandler owner) {
+        super.shareBudgetOf(owner);
+        ConcurrencyLimitHandler counters = (ConcurrencyLimitHandler) owner;
+        limits = counters.limits;
+        inFlight = counters.inFlight;
+    }
+
+    @Override
+    protected boolean tryAcquire(Request request) {
+        int ordinal = request.getType().ordinal();
+        long limit = limits[ordinal];
+        if (limit == UNLIMITED) {
+            return true;
+        }
+        int slot = ordinal * STRIDE;
+        while (true) {
+            long current = inFlight.get(slot);
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(slot, current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases the in-flight slot an admitted request of a limited type holds.
+     */
+    @Override
+    protected void release(Request request) {
+        int ordinal = request.getType().ordinal();
+        if (limits[ordinal] != UNLIMITED) {
+            inFlight.decrementAndGet(ordinal * STRIDE);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.io.PrintStream;
+
+/**
+ * Sink that writes every line to {@link System#out} on the calling thread.
+ * This is the default sink of every handler, it keeps the demo output in order but makes
+ * throughput depend on the console. Use {@link AsyncEventSink} under load.
+ */
+public final class ConsoleEventSink implements RequestEventSink {
+    public static final ConsoleEventSink INSTANCE = new ConsoleEventSink();
+
+    private ConsoleEventSink() {}
+
+    @Override
+    public void onEvent(String source, String message, String detail) {
+        PrintStream out = System.out;
+        synchronized (out) {
+            if (source != null) {
+                out.print(source);
+                out.print(": ");
+            }
+            out.print(message);
+            out.println(detail);
+        }
+    }
+}
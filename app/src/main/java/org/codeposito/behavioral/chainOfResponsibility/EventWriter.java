@@ -0,0 +1,25 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.io.IOException;
+
+/**
+ * Output device behind an {@link AsyncEventSink}, called only from the sink's background thread.
+ */
+public interface EventWriter extends AutoCloseable {
+
+    /**
+     * Writes one line of handler output.
+     * @param source The name of the handler writing the line, or null for chain-level output.
+     * @param message The constant part of the line.
+     * @param detail The request-specific part of the line.
+     */
+    void write(String source, String message, String detail) throws IOException;
+
+    /**
+     * Makes the lines written so far visible, called after every drained batch.
+     */
+    void flush() throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
@@ -1,5 +1,8 @@
 package org.codeposito.behavioral.chainOfResponsibility;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Concrete handler for processing general inquiry requests.
  */
@@ -10,11 +13,16 @@ public class GeneralInquiryHandler extends Handler {
         return request.getType() == RequestType.GENERAL_INQUIRY;
     }
 
+    @Override
+    protected Set<RequestType> getHandledTypes() {
+        return EnumSet.of(RequestType.GENERAL_INQUIRY);
+    }
+
     @Override
     protected void processRequest(Request request) {
-        System.out.println("GeneralInquiryHandler: Processing general inquiry request - " + request.getDescription());
-        System.out.println("GeneralInquiryHandler: Providing general information...");
-        System.out.println("GeneralInquiryHandler: Directing to appropriate resources...");
-        System.out.println("GeneralInquiryHandler: General inquiry request processed successfully.");
+        emit("Processing general inquiry request - ", request.getDescription());
+        emit("Providing general information...");
+        emit("Directing to appropriate resources...");
+        emit("General inquiry request processed successfully.");
     }
 } 
\ No newline at end of file
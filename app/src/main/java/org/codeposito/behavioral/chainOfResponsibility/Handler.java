@@ -1,11 +1,16 @@
 package org.codeposito.behavioral.chainOfResponsibility;
 
+import java.util.Collections;
+import java.util.Set;
+
 /**
  * Abstract handler class that defines the interface for the Chain of Responsibility pattern.
  * Each handler can either handle the request or pass it to the next handler in the chain.
  */
 public abstract class Handler {
     protected Handler nextHandler;
+    private final String name = getClass().getSimpleName();
+    private RequestEventSink eventSink = ConsoleEventSink.INSTANCE;
 
     /**
      * Sets the next handler in the chain.
@@ -17,18 +22,133 @@ public abstract class Handler {
         return handler;
     }
 
+    /**
+     * Returns the name this handler uses in its output.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the next handler in the chain, or null if this handler is the last one.
+     */
+    Handler getNext() {
+        return nextHandler;
+    }
+
     /**
      * Template method that defines the algorithm for handling requests.
+     * The request first has to pass this handler's {@link #admit(Request)}; a rejected request stops here.
      * @param request The request to be handled.
      */
     public void handle(Request request) {
-        if (canHandle(request)) {
-            processRequest(request);
-        } else if (nextHandler != null) {
-            nextHandler.handle(request);
-        } else {
-            System.out.println("No handler found for request: " + request.getType());
+        if (!admit(request)) {
+            return;
+        }
+        try {
+            if (canHandle(request)) {
+                processRequest(request);
+            } else if (nextHandler != null) {
+                nextHandler.handle(request);
+            } else {
+                onUnhandled(request);
+            }
+        } finally {
+            release(request);
+        }
+    }
+
+    /**
+     * Called on the last handler of the chain when no handler accepted the request.
+     * @param request The request that was not handled.
+     */
+    protected void onUnhandled(Request request) {
+        eventSink.onEvent(null, "No handler found for request: ", request.getType().name());
+    }
+
+    /**
+     * Sets the sink this handler writes its output to.
+     * @param eventSink The sink, for example {@link AsyncEventSink} or {@link NoOpEventSink}.
+     */
+    public void setEventSink(RequestEventSink eventSink) {
+        if (eventSink == null) {
+            throw new IllegalArgumentException("Event sink must not be null");
         }
+        this.eventSink = eventSink;
+    }
+
+    /**
+     * Sets the sink of this handler and of every handler after it in the chain.
+     * @param eventSink The sink, for example {@link AsyncEventSink} or {@link NoOpEventSink}.
+     */
+    public void setChainEventSink(RequestEventSink eventSink) {
+        for (Handler handler : CompiledChain.walk(this)) {
+            handler.setEventSink(eventSink);
+        }
+    }
+
+    /**
+     * Returns the sink this handler writes its output to.
+     */
+    public RequestEventSink getEventSink() {
+        return eventSink;
+    }
+
+    /**
+     * Writes one line of handler output, prefixed with the handler name.
+     * @param message The message, expected to be a constant so nothing is built per request.
+     */
+    protected void emit(String message) {
+        emit(message, "");
+    }
+
+    /**
+     * Writes one line of handler output, prefixed with the handler name.
+     * The parts are handed to the event sink separately instead of being concatenated, so
+     * emitting output does not build a string per request.
+     * @param message The message, expected to be a constant.
+     * @param detail The request-specific detail appended to the message.
+     */
+    protected void emit(String message, String detail) {
+        eventSink.onEvent(name, message, detail);
+    }
+
+    /**
+     * Declares the request types this handler accepts when {@link #canHandle(Request)} depends on the type alone.
+     * Dispatchers such as {@link CompiledChain} use it to route requests without evaluating canHandle.
+     * The default empty set means the decision depends on more than the type and canHandle must be called.
+     * @return The request types accepted by this handler.
+     */
+    protected Set<RequestType> getHandledTypes() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Returns true if this handler guards the rest of the chain through {@link #admit(Request)}.
+     * Dispatchers that do not walk the chain, such as {@link CompiledChain}, call admit and release
+     * only on handlers that return true, at the handler's position in the chain.
+     */
+    protected boolean controlsAdmission() {
+        return false;
+    }
+
+    /**
+     * Decides whether a request may continue from this handler, before canHandle is asked.
+     * Admission is a pass-through: an admitted request continues as if this handler were not there,
+     * so it is neither handled nor counted as a match here. By default admits every request.
+     * @param request The request to be admitted.
+     * @return true if the request continues, false if it was rejected and stops at this handler.
+     */
+    protected boolean admit(Request request) {
+        return true;
+    }
+
+    /**
+     * Called once the chain after this handler is done with a request this handler admitted,
+     * also when handling failed. By default does nothing.
+     * @param request The admitted request.
+     */
+    protected void release(Request request) {
     }
 
     /**
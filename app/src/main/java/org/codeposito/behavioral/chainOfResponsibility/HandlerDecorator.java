@@ -0,0 +1,101 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Base class for handlers that wrap another handler to add behaviour around it.
+ * A decorator takes the place of the wrapped handler in a chain: the wrapped handler's own
+ * link is ignored and the chain continues through the decorator's next handler.
+ */
+public abstract class HandlerDecorator extends Handler {
+    protected final Handler delegate;
+
+    protected HandlerDecorator(Handler delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Decorated handler must not be null");
+        }
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns the wrapped handler.
+     */
+    public Handler getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Returns the name of the wrapped handler, which writes the actual output.
+     */
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    /**
+     * Sets the sink of the decorator and of the wrapped handler, which writes the actual output.
+     */
+    @Override
+    public void setEventSink(RequestEventSink eventSink) {
+        super.setEventSink(eventSink);
+        delegate.setEventSink(eventSink);
+    }
+
+    @Override
+    protected boolean canHandle(Request request) {
+        return delegate.canHandle(request);
+    }
+
+    @Override
+    protected void processRequest(Request request) {
+        delegate.processRequest(request);
+    }
+
+    @Override
+    protected boolean controlsAdmission() {
+        return delegate.controlsAdmission();
+    }
+
+    @Override
+    protected boolean admit(Request request) {
+        return delegate.admit(request);
+    }
+
+    @Override
+    protected void release(Request request) {
+        delegate.release(request);
+    }
+
+    @Override
+    protected void onUnhandled(Request request) {
+        delegate.onUnhandled(request);
+    }
+
+    @Override
+    protected Set<RequestType> getHandledTypes() {
+        return delegate.getHandledTypes();
+    }
+
+    /**
+     * Builds a new chain in which every handler of the given chain is wrapped by a decorator.
+     * The original chain is left untouched.
+     * @param head The first handler of the chain to decorate.
+     * @param decorator Creates the decorator for a handler.
+     * @return The first handler of the decorated chain.
+     */
+    public static Handler decorateChain(Handler head, Function<Handler, ? extends Handler> decorator) {
+        Handler first = null;
+        Handler previous = null;
+        for (Handler handler : CompiledChain.walk(head)) {
+            Handler decorated = decorator.apply(handler);
+            if (previous == null) {
+                first = decorated;
+            } else {
+                previous.setNext(decorated);
+            }
+            previous = decorated;
+        }
+        return first;
+    }
+}
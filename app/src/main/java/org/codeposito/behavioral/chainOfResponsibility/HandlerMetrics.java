@@ -0,0 +1,96 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and processing latency of one handler in an instrumented chain.
+ * All updates are lock-free and allocation-free.
+ */
+public class HandlerMetrics {
+    private final String handlerName;
+    private final LongAdder canHandleCalls = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LatencyHistogram processingTime = new LatencyHistogram();
+
+    HandlerMetrics(String handlerName) {
+        this.handlerName = handlerName;
+    }
+
+    void recordCanHandle(boolean accepted) {
+        canHandleCalls.increment();
+        if (!accepted) {
+            misses.increment();
+        }
+    }
+
+    void recordProcessing(long nanos) {
+        hits.increment();
+        processingTime.record(nanos);
+    }
+
+    void reset() {
+        canHandleCalls.reset();
+        hits.reset();
+        misses.reset();
+        processingTime.reset();
+    }
+
+    public String getHandlerName() {
+        return handlerName;
+    }
+
+    /**
+     * Returns a point-in-time copy of the counters.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(handlerName, canHandleCalls.sum(), hits.sum(), misses.sum(), processingTime.copy());
+    }
+
+    /**
+     * Immutable copy of a handler's counters.
+     */
+    public static final class Snapshot {
+        private final String handlerName;
+        private final long canHandleCalls;
+        private final long hits;
+        private final long misses;
+        private final LatencyHistogram processingTime;
+
+        Snapshot(String handlerName, long canHandleCalls, long hits, long misses, LatencyHistogram processingTime) {
+            this.handlerName = handlerName;
+            this.canHandleCalls = canHandleCalls;
+            this.hits = hits;
+            this.misses = misses;
+            this.processingTime = processingTime;
+        }
+
+        public String getHandlerName() { return handlerName; }
+        public long getCanHandleCalls() { return canHandleCalls; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public LatencyHistogram getProcessingTime() { return processingTime; }
+
+        /**
+         * Returns the combined counters of this snapshot and another one of the same handler.
+         * @param other The snapshot to merge in, for example of the same handler in another chain copy.
+         */
+        public Snapshot merge(Snapshot other) {
+            LatencyHistogram merged = processingTime.copy();
+            merged.add(other.processingTime);
+            return new Snapshot(handlerName, canHandleCalls + other.canHandleCalls, hits + other.hits,
+                    misses + other.misses, merged);
+        }
+
+        @Override
+        public String toString() {
+            return handlerName + "{" +
+                    "canHandleCalls=" + canHandleCalls +
+                    ", hits=" + hits +
+                    ", misses=" + misses +
+                    ", processingP50=" + processingTime.getValueAtPercentile(50) +
+                    ", processingP99=" + processingTime.getValueAtPercentile(99) +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+/**
+ * Decorator that records the activity of one handler into {@link ChainMetrics}.
+ */
+class InstrumentedHandler extends HandlerDecorator {
+    private final ChainMetrics chainMetrics;
+    private final HandlerMetrics metrics;
+    private final int depth;
+
+    InstrumentedHandler(Handler delegate, ChainMetrics chainMetrics, HandlerMetrics metrics, int depth) {
+        super(delegate);
+        this.chainMetrics = chainMetrics;
+        this.metrics = metrics;
+        this.depth = depth;
+    }
+
+    @Override
+    protected boolean canHandle(Request request) {
+        boolean accepted = delegate.canHandle(request);
+        metrics.recordCanHandle(accepted);
+        return accepted;
+    }
+
+    @Override
+    protected void processRequest(Request request) {
+        long start = System.nanoTime();
+        try {
+            delegate.processRequest(request);
+        } finally {
+            metrics.recordProcessing(System.nanoTime() - start);
+            chainMetrics.recordMatch(depth);
+        }
+    }
+
+    @Override
+    protected void onUnhandled(Request request) {
+        chainMetrics.recordUnhandled();
+        delegate.onUnhandled(request);
+    }
+}
@@ -0,0 +1,10 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+/**
+ * Enum representing how a journaled request left the chain.
+ */
+public enum JournalOutcome {
+    HANDLED,
+    UNHANDLED,
+    FAILED
+}
@@ -0,0 +1,92 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the records of a {@link RequestJournal} file in the order they were committed.
+ */
+public class JournalReader implements AutoCloseable {
+    private static final RequestType[] TYPES = RequestType.values();
+    private static final JournalOutcome[] OUTCOMES = JournalOutcome.values();
+
+    private final FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+
+    /**
+     * Opens a journal file for reading.
+     * @param file The journal file.
+     */
+    public JournalReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        buffer.flip();
+    }
+
+    /**
+     * Returns the next record, or null at the end of the journal.
+     * @throws EOFException if the journal ends in the middle of a record.
+     */
+    public JournalRecord next() throws IOException {
+        if (!fill(Integer.BYTES)) {
+            return null;
+        }
+        int length = buffer.getInt();
+        if (!fill(length)) {
+            throw new EOFException("Journal ends inside a record of " + length + " bytes");
+        }
+        long timestamp = buffer.getLong();
+        RequestType type = TYPES[buffer.get()];
+        int priority = buffer.getInt();
+        JournalOutcome outcome = OUTCOMES[buffer.get()];
+        String description = getString();
+        String handler = getString();
+        return new JournalRecord(timestamp, type, priority, description, handler, outcome);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Makes sure at least size bytes are buffered, returns false if the file ends first.
+     */
+    private boolean fill(int size) throws IOException {
+        if (buffer.remaining() >= size) {
+            return true;
+        }
+        if (buffer.capacity() < size) {
+            ByteBuffer grown = ByteBuffer.allocateDirect(size);
+            grown.put(buffer);
+            buffer = grown;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < size) {
+            if (channel.read(buffer) < 0) {
+                buffer.flip();
+                if (buffer.hasRemaining()) {
+                    throw new EOFException("Journal ends inside a record");
+                }
+                return false;
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+
+    private String getString() {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,56 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+/**
+ * One entry of a {@link RequestJournal}: a request and what the chain did with it.
+ */
+public class JournalRecord {
+    private final long timestampNanos;
+    private final RequestType type;
+    private final int priority;
+    private final String description;
+    private final String handler;
+    private final JournalOutcome outcome;
+
+    public JournalRecord(long timestampNanos, RequestType type, int priority, String description,
+                         String handler, JournalOutcome outcome) {
+        this.timestampNanos = timestampNanos;
+        this.type = type;
+        this.priority = priority;
+        this.description = description;
+        this.handler = handler;
+        this.outcome = outcome;
+    }
+
+    /**
+     * Returns the time the request was journaled, in nanoseconds since the epoch.
+     */
+    public long getTimestampNanos() { return timestampNanos; }
+    public RequestType getType() { return type; }
+    public int getPriority() { return priority; }
+    public String getDescription() { return description; }
+
+    /**
+     * Returns the name of the handler that processed the request, or null if no handler did.
+     */
+    public String getHandler() { return handler; }
+    public JournalOutcome getOutcome() { return outcome; }
+
+    /**
+     * Recreates the journaled request.
+     */
+    public Request toRequest() {
+        return new Request(type, description, priority);
+    }
+
+    @Override
+    public String toString() {
+        return "JournalRecord{" +
+                "timestampNanos=" + timestampNanos +
+                ", type=" + type +
+                ", priority=" + priority +
+                ", description='" + description + '\'' +
+                ", handler='" + handler + '\'' +
+                ", outcome=" + outcome +
+                '}';
+    }
+}
@@ -0,0 +1,69 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Feeds the requests of a {@link RequestJournal} back through a chain, to reproduce recorded load.
+ */
+public final class JournalReplayer {
+
+    /**
+     * How fast the journaled requests are replayed.
+     */
+    public enum ReplaySpeed {
+        /** Keeps the gaps between the recorded timestamps. */
+        RECORDED,
+        /** Replays the requests back to back. */
+        MAXIMUM
+    }
+
+    private JournalReplayer() {
+    }
+
+    /**
+     * Replays a journal through a chain.
+     * @param file The journal file.
+     * @param head The first handler of the chain.
+     * @param speed How fast the requests are replayed.
+     * @return The number of replayed requests.
+     */
+    public static long replay(Path file, Handler head, ReplaySpeed speed) throws IOException {
+        return replay(file, head::handle, speed);
+    }
+
+    /**
+     * Replays a journal into any dispatcher, for example {@link CompiledChain#handle(Request)}.
+     * @param file The journal file.
+     * @param dispatcher Receives every journaled request.
+     * @param speed How fast the requests are replayed.
+     * @return The number of replayed requests.
+     */
+    public static long replay(Path file, Consumer<Request> dispatcher, ReplaySpeed speed) throws IOException {
+        long count = 0;
+        long firstRecorded = 0;
+        long replayStart = 0;
+        try (JournalReader reader = new JournalReader(file)) {
+            JournalRecord record;
+            while ((record = reader.next()) != null) {
+                if (speed == ReplaySpeed.RECORDED) {
+                    if (count == 0) {
+                        firstRecorded = record.getTimestampNanos();
+                        replayStart = System.nanoTime();
+                    } else {
+                        long due = replayStart + (record.getTimestampNanos() - firstRecorded);
+                        long delay;
+                        while ((delay = due - System.nanoTime()) > 0) {
+                            LockSupport.parkNanos(delay);
+                        }
+                    }
+                }
+                dispatcher.accept(record.toRequest());
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,30 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+/**
+ * Decorator that appends every request reaching a handler's processRequest or onUnhandled to a {@link RequestJournal}.
+ */
+class JournalingHandler extends HandlerDecorator {
+    private final RequestJournal journal;
+
+    JournalingHandler(Handler delegate, RequestJournal journal) {
+        super(delegate);
+        this.journal = journal;
+    }
+
+    @Override
+    protected void processRequest(Request request) {
+        try {
+            delegate.processRequest(request);
+        } catch (RuntimeException | Error e) {
+            journal.append(request, delegate.getName(), JournalOutcome.FAILED);
+            throw e;
+        }
+        journal.append(request, delegate.getName(), JournalOutcome.HANDLED);
+    }
+
+    @Override
+    protected void onUnhandled(Request request) {
+        journal.append(request, null, JournalOutcome.UNHANDLED);
+        delegate.onUnhandled(request);
+    }
+}
@@ -0,0 +1,103 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Base class for handlers that protect the rest of a chain by rejecting requests over a per-type budget.
+ * A rejected request stops at the shedding handler and is counted; every other request continues
+ * down the chain. Budgets are kept per {@link RequestType}, so a flood of one type cannot use up
+ * the capacity of another. Budgets are configured before the chain is shared between threads.
+ * A shedding handler never accepts a request itself: it only guards the chain through
+ * {@link #admit(Request)}, so an admitted request continues exactly as if the handler were not
+ * there and decorators, dispatchers and metrics see a single match, at the handler that processes it.
+ * Subclasses implement {@link #tryAcquire(Request)} and, if they hold something for the duration
+ * of a request, {@link #release(Request)}.
+ */
+public abstract class LoadSheddingHandler extends Handler {
+    /** Counters of different types are kept this many longs apart so they do not share a cache line. */
+    static final int STRIDE = 16;
+
+    private LongAdder[] rejected = new LongAdder[RequestType.values().length];
+
+    protected LoadSheddingHandler() {
+        for (int i = 0; i < rejected.length; i++) {
+            rejected[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Returns the number of requests of a type rejected so far.
+     * @param type The request type.
+     */
+    public long getRejectedCount(RequestType type) {
+        return rejected[type.ordinal()].sum();
+    }
+
+    /**
+     * Makes this handler draw from the budget of another one instead of its own, so that copies of
+     * a chain, like the shards of a {@link ShardedChain}, share one budget and one rejection count.
+     * Called once, right after construction and before the handler is used. Subclasses sharing
+     * their own state override it and call this implementation.
+     * @param owner A handler of the same class whose budget is shared.
+     */
+    protected void shareBudgetOf(LoadSheddingHandler owner) {
+        if (owner.getClass() != getClass()) {
+            throw new IllegalArgumentException("Budgets can only be shared between handlers of the same class");
+        }
+        rejected = owner.rejected;
+    }
+
+    /**
+     * Counts a rejected request and calls {@link #onRejected(Request)}.
+     * @param request The request over budget.
+     */
+    protected final void reject(Request request) {
+        rejected[request.getType().ordinal()].increment();
+        onRejected(request);
+    }
+
+    /**
+     * Called for every rejected request. By default writes a line of output.
+     * @param request The request over budget.
+     */
+    protected void onRejected(Request request) {
+        emit("Request rejected, budget exhausted for ", request.getType().name());
+    }
+
+    /**
+     * Takes budget for a request.
+     * @param request The request to be admitted.
+     * @return true if the request is within budget or its type is not limited, false to reject it.
+     */
+    protected abstract boolean tryAcquire(Request request);
+
+    @Override
+    protected final boolean controlsAdmission() {
+        return true;
+    }
+
+    /**
+     * Admits the request if it is within budget, otherwise counts it as rejected.
+     */
+    @Override
+    protected final boolean admit(Request request) {
+        if (tryAcquire(request)) {
+            return true;
+        }
+        reject(request);
+        return false;
+    }
+
+    /**
+     * Returns false, a shedding handler never processes a request itself.
+     */
+    @Override
+    protected final boolean canHandle(Request request) {
+        return false;
+    }
+
+    @Override
+    protected final void processRequest(Request request) {
+        throw new IllegalStateException(getName() + " only admits requests, it never processes them");
+    }
+}
@@ -1,5 +1,8 @@
 package org.codeposito.behavioral.chainOfResponsibility;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Concrete handler for processing login requests.
  */
@@ -10,10 +13,15 @@ public class LoginHandler extends Handler {
         return request.getType() == RequestType.LOGIN;
     }
 
+    @Override
+    protected Set<RequestType> getHandledTypes() {
+        return EnumSet.of(RequestType.LOGIN);
+    }
+
     @Override
     protected void processRequest(Request request) {
-        System.out.println("LoginHandler: Processing login request - " + request.getDescription());
-        System.out.println("LoginHandler: Validating credentials and authenticating user...");
-        System.out.println("LoginHandler: Login request processed successfully.");
+        emit("Processing login request - ", request.getDescription());
+        emit("Validating credentials and authenticating user...");
+        emit("Login request processed successfully.");
     }
 } 
\ No newline at end of file
@@ -0,0 +1,121 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes handler output as UTF-8 lines into a memory-mapped file.
+ * The file is mapped in fixed-size regions and a new region is mapped when the current one is full,
+ * so writing a line is a memory copy rather than a system call. Each region is forced to disk
+ * before it is replaced, and the file is truncated to the written length on close.
+ * A line that fails to encode is rolled back, so the file only ever holds whole lines.
+ */
+public class MappedFileEventWriter implements EventWriter {
+    private static final int DEFAULT_REGION_SIZE = 1 << 20;
+    private static final String SEPARATOR = ": ";
+    private static final String LINE_END = "\n";
+
+    private final FileChannel channel;
+    private final int regionSize;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private MappedByteBuffer region;
+    private long regionStart;
+
+    public MappedFileEventWriter(Path file) throws IOException {
+        this(file, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Creates a writer, replacing any existing content of the file.
+     * @param file The file to write to.
+     * @param regionSize The number of bytes mapped at a time.
+     */
+    public MappedFileEventWriter(Path file, int regionSize) throws IOException {
+        if (regionSize < 16) {
+            throw new IllegalArgumentException("Region size must be at least 16 bytes");
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.regionSize = regionSize;
+        this.region = channel.map(FileChannel.MapMode.READ_WRITE, 0, regionSize);
+    }
+
+    @Override
+    public void write(String source, String message, String detail) throws IOException {
+        // Null parts are written as "null", like PrintStreamEventWriter does
+        String messageText = String.valueOf(message);
+        String detailText = String.valueOf(detail);
+        long lineStart = getWrittenBytes();
+        try {
+            if (source != null) {
+                encode(source);
+                encode(SEPARATOR);
+            }
+            encode(messageText);
+            encode(detailText);
+            encode(LINE_END);
+        } catch (IOException | RuntimeException e) {
+            rollBack(lineStart);
+            throw e;
+        }
+    }
+
+    private void rollBack(long lineStart) throws IOException {
+        if (lineStart >= regionStart) {
+            region.position((int) (lineStart - regionStart));
+        } else {
+            // The line started in an earlier region, map the region again from the start of the line
+            region.force();
+            regionStart = lineStart;
+            region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, regionSize);
+        }
+    }
+
+    private void encode(String text) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(text);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, region, true);
+            if (result.isOverflow()) {
+                nextRegion();
+            } else if (result.isError()) {
+                result.throwException();
+            } else {
+                break;
+            }
+        }
+    }
+
+    private void nextRegion() throws IOException {
+        // The old region is unmapped once it is no longer referenced, so write it back first
+        region.force();
+        regionStart += region.position();
+        region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, regionSize);
+    }
+
+    /**
+     * Returns the number of bytes written so far.
+     */
+    public long getWrittenBytes() {
+        return regionStart + region.position();
+    }
+
+    @Override
+    public void flush() {
+        // Mapped pages are written back by the operating system, force() is left to close()
+    }
+
+    @Override
+    public void close() throws IOException {
+        region.force();
+        channel.truncate(getWrittenBytes());
+        channel.close();
+    }
+}
@@ -0,0 +1,15 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+/**
+ * Sink that discards all output, for benchmarks and tests.
+ */
+public final class NoOpEventSink implements RequestEventSink {
+    public static final NoOpEventSink INSTANCE = new NoOpEventSink();
+
+    private NoOpEventSink() {}
+
+    @Override
+    public void onEvent(String source, String message, String detail) {
+        // Intentionally empty
+    }
+}
@@ -0,0 +1,34 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.io.PrintStream;
+
+/**
+ * Writes handler output to a print stream such as {@link System#out}.
+ */
+public class PrintStreamEventWriter implements EventWriter {
+    private final PrintStream out;
+
+    public PrintStreamEventWriter(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(String source, String message, String detail) {
+        if (source != null) {
+            out.print(source);
+            out.print(": ");
+        }
+        out.print(message);
+        out.println(detail);
+    }
+
+    @Override
+    public void flush() {
+        out.flush();
+    }
+
+    @Override
+    public void close() {
+        out.flush();
+    }
+}
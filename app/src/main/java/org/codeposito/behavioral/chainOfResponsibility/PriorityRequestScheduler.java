@@ -0,0 +1,171 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Orders pending requests by {@link Request#getPriority()} with bounded starvation.
+ * Lower priority values are more urgent. Priorities are folded into a fixed number of bands,
+ * each band being a FIFO queue, and the most urgent non-empty band is served first.
+ * To keep less urgent traffic from starving, a request whose waiting time exceeds the aging
+ * limit is served before any band, oldest first.
+ * The queueing latency of every band is recorded in a {@link LatencyHistogram}.
+ */
+public class PriorityRequestScheduler {
+    private final ArrayDeque<Pending>[] bands;
+    private final LatencyHistogram[] queueLatency;
+    private final long maxWaitNanos;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private int size;
+
+    /**
+     * Creates a scheduler.
+     * @param bandCount The number of priority bands, priorities at or above bandCount - 1 share the last band.
+     * @param maxWait The aging limit after which a request is served regardless of its priority.
+     * @param unit The unit of maxWait.
+     */
+    public PriorityRequestScheduler(int bandCount, long maxWait, TimeUnit unit) {
+        this(bandCount, unit.toNanos(maxWait), System::nanoTime);
+    }
+
+    PriorityRequestScheduler(int bandCount, long maxWaitNanos, LongSupplier nanoClock) {
+        if (bandCount < 1) {
+            throw new IllegalArgumentException("At least one priority band is required");
+        }
+        this.bands = newBands(bandCount);
+        this.queueLatency = new LatencyHistogram[bandCount];
+        for (int i = 0; i < bandCount; i++) {
+            bands[i] = new ArrayDeque<>();
+            queueLatency[i] = new LatencyHistogram();
+        }
+        this.maxWaitNanos = maxWaitNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArrayDeque<Pending>[] newBands(int bandCount) {
+        return (ArrayDeque<Pending>[]) new ArrayDeque<?>[bandCount];
+    }
+
+    /**
+     * Adds a request to the band of its priority.
+     * @param request The request to be scheduled.
+     */
+    public void submit(Request request) {
+        Pending pending = new Pending(request, nanoClock.getAsLong());
+        lock.lock();
+        try {
+            bands[bandOf(request.getPriority())].addLast(pending);
+            size++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the next request to be handled, or returns null if nothing is pending.
+     */
+    public Request poll() {
+        lock.lock();
+        try {
+            return size == 0 ? null : next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the next request to be handled, waiting until one is submitted.
+     * @throws InterruptedException if the caller is interrupted while waiting.
+     */
+    public Request take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            return next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of pending requests.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of priority bands.
+     */
+    public int getBandCount() {
+        return bands.length;
+    }
+
+    /**
+     * Returns the band a priority is scheduled in.
+     * @param priority The request priority.
+     */
+    public int bandOf(int priority) {
+        return Math.min(Math.max(priority, 0), bands.length - 1);
+    }
+
+    /**
+     * Returns the queueing latency recorded for a band, from submit until the request was taken.
+     * @param band The band index, 0 being the most urgent.
+     */
+    public LatencyHistogram getQueueLatency(int band) {
+        return queueLatency[band];
+    }
+
+    private Request next() {
+        long now = nanoClock.getAsLong();
+        int selected = -1;
+        long longestWait = maxWaitNanos;
+        // Aging: the longest-waiting request past the limit goes first. Waits are compared rather
+        // than submit times, because nanoTime values may wrap around between two submits
+        for (int i = 0; i < bands.length; i++) {
+            Pending head = bands[i].peekFirst();
+            if (head != null && now - head.enqueuedAt > longestWait) {
+                selected = i;
+                longestWait = now - head.enqueuedAt;
+            }
+        }
+        if (selected < 0) {
+            selected = 0;
+            while (bands[selected].isEmpty()) {
+                selected++;
+            }
+        }
+        Pending pending = bands[selected].pollFirst();
+        size--;
+        queueLatency[selected].record(now - pending.enqueuedAt);
+        return pending.request;
+    }
+
+    /**
+     * A scheduled request together with the time it was submitted.
+     */
+    private static final class Pending {
+        final Request request;
+        final long enqueuedAt;
+
+        Pending(Request request, long enqueuedAt) {
+            this.request = request;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
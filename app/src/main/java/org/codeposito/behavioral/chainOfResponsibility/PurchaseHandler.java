@@ -1,5 +1,8 @@
 package org.codeposito.behavioral.chainOfResponsibility;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Concrete handler for processing purchase requests.
  */
@@ -10,11 +13,16 @@ public class PurchaseHandler extends Handler {
         return request.getType() == RequestType.PURCHASE;
     }
 
+    @Override
+    protected Set<RequestType> getHandledTypes() {
+        return EnumSet.of(RequestType.PURCHASE);
+    }
+
     @Override
     protected void processRequest(Request request) {
-        System.out.println("PurchaseHandler: Processing purchase request - " + request.getDescription());
-        System.out.println("PurchaseHandler: Validating payment information...");
-        System.out.println("PurchaseHandler: Processing payment and confirming order...");
-        System.out.println("PurchaseHandler: Purchase request processed successfully.");
+        emit("Processing purchase request - ", request.getDescription());
+        emit("Validating payment information...");
+        emit("Processing payment and confirming order...");
+        emit("Purchase request processed successfully.");
     }
 } 
\ No newline at end of file
@@ -1,5 +1,8 @@
 package org.codeposito.behavioral.chainOfResponsibility;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Concrete handler for processing refund requests.
  */
@@ -10,11 +13,16 @@ public class RefundHandler extends Handler {
         return request.getType() == RequestType.REFUND;
     }
 
+    @Override
+    protected Set<RequestType> getHandledTypes() {
+        return EnumSet.of(RequestType.REFUND);
+    }
+
     @Override
     protected void processRequest(Request request) {
-        System.out.println("RefundHandler: Processing refund request - " + request.getDescription());
-        System.out.println("RefundHandler: Validating refund eligibility...");
-        System.out.println("RefundHandler: Processing refund and updating records...");
-        System.out.println("RefundHandler: Refund request processed successfully.");
+        emit("Processing refund request - ", request.getDescription());
+        emit("Validating refund eligibility...");
+        emit("Processing refund and updating records...");
+        emit("Refund request processed successfully.");
     }
 } 
\ No newline at end of file
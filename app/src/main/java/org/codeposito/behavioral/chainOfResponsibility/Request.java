@@ -2,6 +2,7 @@ package org.codeposito.behavioral.chainOfResponsibility;
 
 /**
  * Represents a request that will be processed by the chain of responsibility.
+ * Requests are immutable; a {@link RequestPool} hands out its own reusable subclass instead.
  */
 public class Request {
     private final RequestType type;
@@ -29,9 +30,9 @@ public class Request {
     @Override
     public String toString() {
         return "Request{" +
-                "type=" + type +
-                ", description='" + description + '\'' +
-                ", priority=" + priority +
+                "type=" + getType() +
+                ", description='" + getDescription() + '\'' +
+                ", priority=" + getPriority() +
                 '}';
     }
 } 
\ No newline at end of file
@@ -0,0 +1,17 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+/**
+ * Destination of the output lines written by handlers.
+ * Handlers call the sink on their processing thread, so implementations should return quickly
+ * and never wait on slow devices such as the console or a disk.
+ */
+public interface RequestEventSink {
+
+    /**
+     * Receives one line of handler output.
+     * @param source The name of the handler writing the line, or null for chain-level output.
+     * @param message The constant part of the line.
+     * @param detail The request-specific part of the line, empty if there is none.
+     */
+    void onEvent(String source, String message, String detail);
+}
@@ -0,0 +1,324 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only binary journal of the requests a chain handled.
+ * Appending encodes the record into an in-memory batch; {@link #commit()} writes the batch through
+ * a {@link FileChannel} and forces it to disk. Commits are grouped: while one thread writes and
+ * forces a batch, the others keep appending to the next batch, and concurrent committers wait for
+ * that single force instead of issuing their own. An optional background thread commits periodically.
+ *
+ * <p>Every record is {@code int length} followed by {@code long timestampNanos, byte type,
+ * int priority, byte outcome} and the description and handler name as length-prefixed UTF-8,
+ * a length of -1 standing for null.
+ */
+public class RequestJournal implements AutoCloseable {
+    private static final int INITIAL_BATCH_SIZE = 64 * 1024;
+    private static final int FIXED_RECORD_SIZE = Long.BYTES + 1 + Integer.BYTES + 1 + 2 * Integer.BYTES;
+
+    private final FileChannel channel;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition committed = lock.newCondition();
+    private final long epochNanosAtOpen = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+    private final long nanoTimeAtOpen = System.nanoTime();
+    private final Thread committer;
+    private volatile boolean stopping;
+    private ByteBuffer pending = ByteBuffer.allocateDirect(INITIAL_BATCH_SIZE);
+    private ByteBuffer spare = ByteBuffer.allocateDirect(INITIAL_BATCH_SIZE);
+    private long appendedCount;
+    private long durableCount;
+    // File size after the last successful force; a failed commit truncates back to it
+    private long durableSize;
+    private boolean committing;
+    private volatile boolean closed;
+
+    private RequestJournal(FileChannel channel, long commitIntervalNanos) throws IOException {
+        this.channel = channel;
+        this.durableSize = channel.size();
+        if (commitIntervalNanos > 0) {
+            this.committer = new Thread(() -> commitPeriodically(commitIntervalNanos), "request-journal-commit");
+            committer.setDaemon(true);
+            committer.start();
+        } else {
+            this.committer = null;
+        }
+    }
+
+    /**
+     * Opens a journal, appending to the file if it exists. Records become durable on {@link #commit()}.
+     * @param file The journal file.
+     */
+    public static RequestJournal open(Path file) throws IOException {
+        return open(file, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a journal, appending to the file if it exists, that also commits in the background.
+     * @param file The journal file.
+     * @param commitInterval The time between background commits, 0 to only commit on {@link #commit()}.
+     * @param unit The unit of commitInterval.
+     */
+    public static RequestJournal open(Path file, long commitInterval, TimeUnit unit) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        return new RequestJournal(channel, unit.toNanos(commitInterval));
+    }
+
+    /**
+     * Builds a copy of the chain that journals every request reaching a handler or falling off the end.
+     * The original chain is left untouched.
+     * @param head The first handler of the chain.
+     * @return The first handler of the journaling chain.
+     */
+    public Handler record(Handler head) {
+        return HandlerDecorator.decorateChain(head, handler -> new JournalingHandler(handler, this));
+    }
+
+    /**
+     * Appends a record for a request, timestamped now.
+     * @param request The request.
+     * @param handler The name of the handler that processed it, or null.
+     * @param outcome What the chain did with the request.
+     */
+    public void append(Request request, String handler, JournalOutcome outcome) {
+        long timestamp = epochNanosAtOpen + (System.nanoTime() - nanoTimeAtOpen);
+        append(new JournalRecord(timestamp, request.getType(), request.getPriority(), request.getDescription(),
+                handler, outcome));
+    }
+
+    /**
+     * Appends a record as is.
+     * @param record The record to append.
+     */
+    public void append(JournalRecord record) {
+        byte[] description = encode(record.getDescription());
+        byte[] handler = encode(record.getHandler());
+        int length = FIXED_RECORD_SIZE + lengthOf(description) + lengthOf(handler);
+
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Request journal is closed");
+            }
+            ensureCapacity(Integer.BYTES + length);
+            pending.putInt(length);
+            pending.putLong(record.getTimestampNanos());
+            pending.put((byte) record.getType().ordinal());
+            pending.putInt(record.getPriority());
+            pending.put((byte) record.getOutcome().ordinal());
+            putBytes(pending, description);
+            putBytes(pending, handler);
+            appendedCount++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes every record appended so far and forces it to disk.
+     * If another thread is already committing, waits for it and only commits what it did not cover.
+     * If the write or force fails, the file is truncated back to the last committed record and the
+     * batch is kept, so the next commit writes it again.
+     */
+    public void commit() throws IOException {
+        ByteBuffer batch;
+        long batchCount;
+        long batchStart;
+        lock.lock();
+        try {
+            long target = appendedCount;
+            while (committing && durableCount < target) {
+                committed.awaitUninterruptibly();
+            }
+            if (durableCount >= target) {
+                return;
+            }
+            committing = true;
+            batch = pending;
+            pending = spare;
+            spare = null;
+            batchCount = appendedCount;
+            batchStart = durableSize;
+        } finally {
+            lock.unlock();
+        }
+
+        IOException failure = null;
+        int batchEnd = batch.position();
+        try {
+            batch.flip();
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            failure = e;
+            rollBack(batchStart, e);
+        } finally {
+            lock.lock();
+            try {
+                if (failure == null) {
+                    batch.clear();
+                    spare = batch;
+                    durableCount = batchCount;
+                    durableSize = batchStart + batchEnd;
+                } else {
+                    restore(batch, batchEnd);
+                }
+                committing = false;
+                committed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Returns the number of records appended so far.
+     */
+    public long getAppendedCount() {
+        lock.lock();
+        try {
+            return appendedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of records known to be on disk.
+     */
+    public long getDurableCount() {
+        lock.lock();
+        try {
+            return durableCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the background commits, commits the remaining records and closes the file.
+     * The background thread is woken and joined rather than interrupted: an interrupt during a write
+     * would close the channel and lose the batch.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        boolean interrupted = false;
+        if (committer != null) {
+            stopping = true;
+            LockSupport.unpark(committer);
+            while (committer.isAlive()) {
+                try {
+                    committer.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        try {
+            if (interrupted) {
+                // Writing from an interrupted thread would close the channel, so commit first and re-interrupt after
+                Thread.interrupted();
+            }
+            commit();
+        } finally {
+            channel.close();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void commitPeriodically(long intervalNanos) {
+        while (!stopping) {
+            LockSupport.parkNanos(this, intervalNanos);
+            if (stopping) {
+                break;
+            }
+            try {
+                commit();
+            } catch (IOException e) {
+                // The batch was kept and the file rolled back; the next commit, at the latest the one in close(), retries it
+            }
+        }
+    }
+
+    /**
+     * Truncates the file to the end of the last committed batch, removing a partly written one.
+     */
+    private void rollBack(long size, IOException failure) {
+        try {
+            channel.truncate(size);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Puts a batch that failed to commit back in front of the records appended since. Called with the lock held.
+     */
+    private void restore(ByteBuffer batch, int batchEnd) {
+        batch.limit(batch.capacity()).position(batchEnd);
+        if (batch.remaining() < pending.position()) {
+            ByteBuffer grown = ByteBuffer.allocateDirect(batchEnd + pending.position());
+            batch.flip();
+            grown.put(batch);
+            batch = grown;
+        }
+        pending.flip();
+        batch.put(pending);
+        pending.clear();
+        spare = pending;
+        pending = batch;
+    }
+
+    private void ensureCapacity(int size) {
+        if (pending.remaining() >= size) {
+            return;
+        }
+        ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(pending.capacity() * 2, pending.position() + size));
+        pending.flip();
+        grown.put(pending);
+        pending = grown;
+    }
+
+    private static byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int lengthOf(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous front end for a handler chain.
+ * Producers submit requests into a bounded queue and get a {@link CompletableFuture} back,
+ * while a pool of virtual worker threads drains the queue in batches and dispatches every
+ * request through the chain. When the queue is full, {@link #submit(Request)} blocks the
+ * producer and {@link #trySubmit(Request)} rejects the request, so a slow chain pushes back
+ * on its callers instead of growing memory without bound.
+ * The handlers of the chain are called from several workers at once and must be thread-safe.
+ * Producers queue under the read side of a lock that close() takes for writing to mark the
+ * pipeline closed, so every request is either queued before the shutdown marker or rejected.
+ */
+public class RequestPipeline implements AutoCloseable {
+    private static final Entry SHUTDOWN = new Entry(null);
+
+    private final BlockingQueue<Entry> queue;
+    private final Consumer<Request> dispatcher;
+    private final int maxBatchSize;
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+
+    /**
+     * Creates a pipeline that walks the chain for every request.
+     * @param chain The first handler of the chain.
+     * @param capacity The maximum number of queued requests.
+     * @param workerCount The number of virtual threads draining the queue.
+     * @param maxBatchSize The maximum number of requests a worker takes from the queue at once.
+     */
+    public RequestPipeline(Handler chain, int capacity, int workerCount, int maxBatchSize) {
+        this(chain::handle, capacity, workerCount, maxBatchSize);
+    }
+
+    /**
+     * Creates a pipeline that dispatches through a compiled chain.
+     * @param chain The compiled chain.
+     * @param capacity The maximum number of queued requests.
+     * @param workerCount The number of virtual threads draining the queue.
+     * @param maxBatchSize The maximum number of requests a worker takes from the queue at once.
+     */
+    public RequestPipeline(CompiledChain chain, int capacity, int workerCount, int maxBatchSize) {
+        this(chain::handle, capacity, workerCount, maxBatchSize);
+    }
+
+    private RequestPipeline(Consumer<Request> dispatcher, int capacity, int workerCount, int maxBatchSize) {
+        if (capacity < 1 || workerCount < 1 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("Capacity, worker count and batch size must be positive");
+        }
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.dispatcher = dispatcher;
+        this.maxBatchSize = maxBatchSize;
+
+        activeWorkers.set(workerCount);
+        ThreadFactory factory = Thread.ofVirtual().name("request-pipeline-", 0).factory();
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = factory.newThread(this::drain);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Queues a request, blocking while the queue is full.
+     * @param request The request to be handled.
+     * @return A future completed once the chain has handled the request.
+     * @throws InterruptedException if the producer is interrupted while waiting for space.
+     */
+    public CompletableFuture<Void> submit(Request request) throws InterruptedException {
+        Entry entry = new Entry(request);
+        stateLock.readLock().lockInterruptibly();
+        try {
+            if (closed) {
+                entry.result.completeExceptionally(new RejectedExecutionException("Request pipeline is closed"));
+            } else {
+                queue.put(entry);
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        return entry.result;
+    }
+
+    /**
+     * Queues a request without blocking.
+     * @param request The request to be handled.
+     * @return A future completed once the chain has handled the request, or failed with
+     * {@link RejectedExecutionException} if the queue is full or the pipeline is closed.
+     */
+    public CompletableFuture<Void> trySubmit(Request request) {
+        Entry entry = new Entry(request);
+        // The write side is only held while close() marks the pipeline closed
+        if (!stateLock.readLock().tryLock()) {
+            entry.result.completeExceptionally(new RejectedExecutionException("Request pipeline is closed"));
+            return entry.result;
+        }
+        try {
+            if (closed) {
+                entry.result.completeExceptionally(new RejectedExecutionException("Request pipeline is closed"));
+            } else if (!queue.offer(entry)) {
+                entry.result.completeExceptionally(new RejectedExecutionException("Request pipeline is full"));
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        return entry.result;
+    }
+
+    /**
+     * Returns the number of requests waiting in the queue.
+     */
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting requests, lets the workers finish the queued ones and waits for them to exit.
+     * Waits for producers still blocked in {@link #submit(Request)} to queue their requests first.
+     * Concurrent calls all return once the workers have exited. An interrupt does not cut the wait
+     * short, the interrupt status is set again before returning.
+     */
+    @Override
+    public void close() {
+        boolean first;
+        stateLock.writeLock().lock();
+        try {
+            first = !closed;
+            closed = true;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+        // No producer is inside submit any more, so the marker is queued behind every accepted request
+        boolean interrupted = false;
+        while (first) {
+            try {
+                queue.put(SHUTDOWN);
+                first = false;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        for (Thread worker : workers) {
+            while (worker.isAlive()) {
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        List<Entry> batch = new ArrayList<>(maxBatchSize);
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, maxBatchSize - 1);
+
+            for (Entry entry : batch) {
+                if (entry == SHUTDOWN) {
+                    running = false;
+                } else {
+                    dispatch(entry);
+                }
+            }
+            batch.clear();
+        }
+        if (activeWorkers.decrementAndGet() > 0) {
+            // Pass the marker on so the other workers stop as well
+            try {
+                queue.put(SHUTDOWN);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void dispatch(Entry entry) {
+        try {
+            dispatcher.accept(entry.request);
+            entry.result.complete(null);
+        } catch (Throwable t) {
+            entry.result.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * A queued request together with the future of its result.
+     */
+    private static final class Entry {
+        final Request request;
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        Entry(Request request) {
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+/**
+ * Pool of reusable {@link Request} objects, so a dispatch loop can run without allocating a request per call.
+ * A pool is not thread-safe; give every worker thread its own pool, for example through a ThreadLocal.
+ * A released request must no longer be used by the caller, and handlers must not keep a reference
+ * to the request after processing it.
+ * Pooled requests are a private subclass of {@link Request}, so only they are ever changed after creation.
+ */
+public class RequestPool {
+    private final PooledRequest[] free;
+    private int available;
+
+    /**
+     * Creates a pool.
+     * @param capacity The maximum number of idle requests kept for reuse.
+     */
+    public RequestPool(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Pool capacity must be positive");
+        }
+        this.free = new PooledRequest[capacity];
+    }
+
+    /**
+     * Returns a request with the given fields, reusing an idle one when available.
+     * @param type The request type.
+     * @param description The request description.
+     * @param priority The request priority.
+     */
+    public Request acquire(RequestType type, String description, int priority) {
+        if (available == 0) {
+            return new PooledRequest(type, description, priority);
+        }
+        PooledRequest request = free[--available];
+        free[available] = null;
+        request.reset(type, description, priority);
+        return request;
+    }
+
+    /**
+     * Returns a request to the pool. Requests beyond the pool capacity, and requests not acquired from
+     * a pool, are left to the garbage collector.
+     * @param request The request that is no longer used.
+     */
+    public void release(Request request) {
+        if (available < free.length && request instanceof PooledRequest pooled) {
+            // Drop the description so the pool does not keep it alive
+            pooled.reset(null, null, 0);
+            free[available++] = pooled;
+        }
+    }
+
+    /**
+     * Returns the number of idle requests ready for reuse.
+     */
+    public int getAvailableCount() {
+        return available;
+    }
+
+    /**
+     * Request whose fields are overwritten when the pool hands it out again.
+     * The fields inherited from {@link Request} stay unset.
+     */
+    private static final class PooledRequest extends Request {
+        private RequestType type;
+        private String description;
+        private int priority;
+
+        PooledRequest(RequestType type, String description, int priority) {
+            super(null, null, 0);
+            reset(type, description, priority);
+        }
+
+        void reset(RequestType type, String description, int priority) {
+            this.type = type;
+            this.description = description;
+            this.priority = priority;
+        }
+
+        @Override
+        public RequestType getType() {
+            return type;
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+/**
+ * Result of handling a request through an {@link AsyncChain}.
+ */
+public class Response {
+
+    /**
+     * What the chain did with the request.
+     */
+    public enum Status {
+        HANDLED,
+        UNHANDLED,
+        REJECTED
+    }
+
+    private final Request request;
+    private final String handler;
+    private final Status status;
+
+    private Response(Request request, String handler, Status status) {
+        this.request = request;
+        this.handler = handler;
+        this.status = status;
+    }
+
+    /**
+     * Creates the response of a handler that processed the request.
+     * @param request The processed request.
+     * @param handler The name of the handler.
+     */
+    public static Response handled(Request request, String handler) {
+        return new Response(request, handler, Status.HANDLED);
+    }
+
+    /**
+     * Creates the response for a request no handler accepted.
+     * @param request The request.
+     */
+    public static Response unhandled(Request request) {
+        return new Response(request, null, Status.UNHANDLED);
+    }
+
+    /**
+     * Creates the response for a request a handler controlling admission rejected.
+     * @param request The rejected request.
+     * @param handler The name of the rejecting handler.
+     */
+    public static Response rejected(Request request, String handler) {
+        return new Response(request, handler, Status.REJECTED);
+    }
+
+    public Request getRequest() { return request; }
+
+    /**
+     * Returns the name of the handler that processed or rejected the request, or null if no handler did.
+     */
+    public String getHandler() { return handler; }
+    public Status getStatus() { return status; }
+
+    public boolean isHandled() {
+        return status == Status.HANDLED;
+    }
+
+    @Override
+    public String toString() {
+        return "Response{" +
+                "request=" + request +
+                ", handler='" + handler + '\'' +
+                ", status=" + status +
+                '}';
+    }
+}
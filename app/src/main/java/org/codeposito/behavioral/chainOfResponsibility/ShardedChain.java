@@ -0,0 +1,136 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dispatches requests over several independent copies of a chain so that threads do not contend
+ * on shared handler state. Every shard is a separately instantiated and compiled chain built from
+ * the same {@link ChainSpec}. The shards are created up front in a fixed array and threads are
+ * striped over them by a hash of their thread id, so the number of copies stays bounded however
+ * many threads come and go. A shard is not confined to one thread: threads whose ids hash alike
+ * share it, so the handlers still have to be thread-safe.
+ * Load shedding handlers are the exception: their budgets are meant for the whole chain, so the
+ * copies in every shard share the budget of the first shard's copy.
+ * If the spec is {@linkplain ChainSpec.Builder#instrumented() instrumented}, every shard records
+ * {@link ChainMetrics} and the metrics of all shards are merged whenever {@link #snapshot()} is called.
+ */
+public class ShardedChain {
+
+    /**
+     * How many chain copies threads are spread over.
+     */
+    public enum Sharding {
+        /** Four copies per available processor, so that threads of a pool rarely share one. */
+        STRIPED,
+        /** One copy per available processor. */
+        PER_CORE
+    }
+
+    private static final int STRIPES_PER_CORE = 4;
+
+    private final ChainSpec spec;
+    private final Shard[] shards;
+
+    /**
+     * Creates a sharded chain.
+     * @param spec The chain every shard is built from.
+     * @param sharding How many shards to create.
+     */
+    public ShardedChain(ChainSpec spec, Sharding sharding) {
+        this(spec, Runtime.getRuntime().availableProcessors()
+                * (sharding == Sharding.STRIPED ? STRIPES_PER_CORE : 1));
+    }
+
+    /**
+     * Creates a sharded chain.
+     * @param spec The chain every shard is built from.
+     * @param shardCount The minimum number of shards, rounded up to a power of two.
+     */
+    public ShardedChain(ChainSpec spec, int shardCount) {
+        if (shardCount < 1 || shardCount > 1 << 16) {
+            throw new IllegalArgumentException("Shard count must be between 1 and " + (1 << 16));
+        }
+        this.spec = spec;
+        int count = Integer.highestOneBit(shardCount) == shardCount ? shardCount : Integer.highestOneBit(shardCount) << 1;
+        this.shards = new Shard[count];
+        List<LoadSheddingHandler> budgets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            shards[i] = newShard(budgets, i == 0);
+        }
+    }
+
+    /**
+     * Dispatches the request on the shard of the calling thread.
+     * @param request The request to be handled.
+     */
+    public void handle(Request request) {
+        shard().chain.handle(request);
+    }
+
+    /**
+     * Returns the number of shards.
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Returns the metrics of all shards merged into one.
+     * @throws IllegalStateException if the spec is not instrumented.
+     */
+    public ChainMetrics.Snapshot snapshot() {
+        if (!spec.isInstrumented()) {
+            throw new IllegalStateException("Metrics are only recorded for an instrumented chain spec");
+        }
+        ChainMetrics.Snapshot merged = shards[0].metrics.snapshot();
+        for (int i = 1; i < shards.length; i++) {
+            merged = merged.merge(shards[i].metrics.snapshot());
+        }
+        return merged;
+    }
+
+    private Shard shard() {
+        long id = Thread.currentThread().threadId();
+        // Spread consecutive thread ids over the shards
+        int hash = (int) ((id * 0x9E3779B97F4A7C15L) >>> 32);
+        return shards[hash & (shards.length - 1)];
+    }
+
+    /**
+     * Instantiates one copy of the chain. The load shedding handlers of the first copy are
+     * collected into budgets, those of later copies share the budget at the same position.
+     */
+    private Shard newShard(List<LoadSheddingHandler> budgets, boolean first) {
+        Handler head = spec.instantiate();
+        int position = 0;
+        for (Handler handler = head; handler != null; handler = handler.getNext()) {
+            if (handler instanceof LoadSheddingHandler shedding) {
+                if (first) {
+                    budgets.add(shedding);
+                } else {
+                    shedding.shareBudgetOf(budgets.get(position));
+                }
+                position++;
+            }
+        }
+        if (!spec.isInstrumented()) {
+            return new Shard(null, CompiledChain.compile(head));
+        }
+        ChainMetrics metrics = ChainMetrics.instrument(head);
+        return new Shard(metrics, CompiledChain.compile(metrics.getChain()));
+    }
+
+    /**
+     * One independent copy of the chain with its metrics, or null metrics if the spec is not instrumented.
+     */
+    private static final class Shard {
+        final ChainMetrics metrics;
+        final CompiledChain chain;
+
+        Shard(ChainMetrics metrics, CompiledChain chain) {
+            this.metrics = metrics;
+            this.chain = chain;
+        }
+    }
+}
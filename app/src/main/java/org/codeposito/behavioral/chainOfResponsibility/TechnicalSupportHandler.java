@@ -1,5 +1,8 @@
 package org.codeposito.behavioral.chainOfResponsibility;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Concrete handler for processing technical support requests.
  */
@@ -10,11 +13,16 @@ public class TechnicalSupportHandler extends Handler {
         return request.getType() == RequestType.TECHNICAL_SUPPORT;
     }
 
+    @Override
+    protected Set<RequestType> getHandledTypes() {
+        return EnumSet.of(RequestType.TECHNICAL_SUPPORT);
+    }
+
     @Override
     protected void processRequest(Request request) {
-        System.out.println("TechnicalSupportHandler: Processing technical support request - " + request.getDescription());
-        System.out.println("TechnicalSupportHandler: Analyzing technical issue...");
-        System.out.println("TechnicalSupportHandler: Providing technical assistance...");
-        System.out.println("TechnicalSupportHandler: Technical support request processed successfully.");
+        emit("Processing technical support request - ", request.getDescription());
+        emit("Analyzing technical issue...");
+        emit("Providing technical assistance...");
+        emit("Technical support request processed successfully.");
     }
 } 
\ No newline at end of file
@@ -0,0 +1,89 @@
+package org.codeposito.behavioral.chainOfResponsibility;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limiting stage that admits requests of each type at a sustained rate with a bounded burst.
+ * Each type has a token bucket implemented as a generic cell rate algorithm: one atomic long per
+ * type holds the theoretical arrival time of the next request. A request over budget is recognised
+ * with a single read of that value and rejected without writing anything; an admitted request
+ * advances it with one compare-and-set.
+ * The token is consumed when the request is admitted, once per request; types without a limit
+ * pass through unchecked.
+ */
+public class TokenBucketHandler extends LoadSheddingHandler {
+    private static final long UNLIMITED = -1;
+
+    private long[] intervalNanos = new long[RequestType.values().length];
+    private long[] toleranceNanos = new long[RequestType.values().length];
+    private AtomicLongArray arrivals = new AtomicLongArray(RequestType.values().length * STRIDE);
+    private LongSupplier nanoClock;
+
+    /**
+     * Creates a stage without limits, add them with {@link #limit(RequestType, double, int)}.
+     */
+    public TokenBucketHandler() {
+        this(System::nanoTime);
+    }
+
+    TokenBucketHandler(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        Arrays.fill(intervalNanos, UNLIMITED);
+    }
+
+    /**
+     * Limits the rate of a request type.
+     * @param type The request type.
+     * @param permitsPerSecond The sustained number of requests admitted per second.
+     * @param burst The number of requests admitted at once after an idle period.
+     * @return This handler, for method chaining.
+     */
+    public TokenBucketHandler limit(RequestType type, double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        int ordinal = type.ordinal();
+        long interval = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        intervalNanos[ordinal] = interval;
+        toleranceNanos[ordinal] = interval * (burst - 1);
+        arrivals.set(ordinal * STRIDE, nanoClock.getAsLong());
+        return this;
+    }
+
+    /**
+     * Shares the limits and buckets of the owner, limits set on either apply to both.
+     */
+    @Override
+    protected void shareBudgetOf(LoadSheddingHandler owner) {
+        super.shareBudgetOf(owner);
+        TokenBucketHandler buckets = (TokenBucketHandler) owner;
+        intervalNanos = buckets.intervalNanos;
+        toleranceNanos = buckets.toleranceNanos;
+        arrivals = buckets.arrivals;
+        nanoClock = buckets.nanoClock;
+    }
+
+    @Override
+    protected boolean tryAcquire(Request request) {
+        int ordinal = request.getType().ordinal();
+        return intervalNanos[ordinal] == UNLIMITED || tryAcquire(ordinal);
+    }
+
+    private boolean tryAcquire(int ordinal) {
+        long interval = intervalNanos[ordinal];
+        long tolerance = toleranceNanos[ordinal];
+        int slot = ordinal * STRIDE;
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long arrival = arrivals.get(slot);
+            if (arrival - now > tolerance) {
+                return false;
+            }
+            if (arrivals.compareAndSet(slot, arrival, Math.max(arrival, now) + interval)) {
+                return true;
+            }
+        }
+    }
+}
@@ -74,5 +74,14 @@ public class BuilderClient {
                 .build();
         
         System.out.println("Chained Computer: " + chainedComputer);
+        
+        // Method 6: Deriving a variant from a shared preset
+        System.out.println("\n6. Deriving a variant with toBuilder():");
+        Computer streamingComputer = director.buildGamingComputer().toBuilder()
+                .ram("64GB DDR5-6000")
+                .build();
+        
+        System.out.println("Streaming Computer: " + streamingComputer);
+        System.out.println("Gaming preset unchanged: " + director.buildGamingComputer().getRam());
     }
 } 
\ No newline at end of file
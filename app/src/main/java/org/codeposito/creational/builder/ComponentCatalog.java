@@ -0,0 +1,110 @@
+package org.codeposito.creational.builder;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared catalog that interns component descriptions such as "32GB DDR5-6000" into small ids.
+ * Every distinct description is stored once, and objects keep a 16-bit id instead of a reference
+ * to their own copy of the string. Id 0 stands for null. Looking up an id is a plain array read;
+ * registering a new description is synchronized, but happens once per distinct value.
+ * The catalog holds at most 65,534 descriptions, which bounds the memory it keeps for the life of
+ * the JVM. Once it is full, {@link #intern(String)} returns {@link #OVERFLOW} for new descriptions
+ * and callers keep those strings themselves; descriptions already registered keep their ids.
+ */
+public final class ComponentCatalog {
+    /** Id returned for a description that did not fit into the catalog. */
+    public static final short OVERFLOW = (short) 0xFFFF;
+
+    private static final ComponentCatalog SHARED = new ComponentCatalog();
+    private static final int MAX_SIZE = 0xFFFF;
+
+    private final ConcurrentHashMap<String, Short> ids = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private volatile String[] values;
+    private int size = 1;
+
+    ComponentCatalog() {
+        this(MAX_SIZE);
+    }
+
+    // Smaller capacities are for tests of the overflow path
+    ComponentCatalog(int maxSize) {
+        if (maxSize < 1 || maxSize > MAX_SIZE) {
+            throw new IllegalArgumentException("Catalog size must be between 1 and " + MAX_SIZE);
+        }
+        this.maxSize = maxSize;
+        this.values = new String[Math.min(64, maxSize)];
+    }
+
+    /**
+     * Returns the catalog used by {@link Computer}.
+     */
+    public static ComponentCatalog shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the id of a description, registering it if it is new.
+     * @param value The description, may be null.
+     * @return The id, 0 for null, {@link #OVERFLOW} if the catalog is full and the description is new.
+     */
+    public short intern(String value) {
+        if (value == null) {
+            return 0;
+        }
+        Short id = ids.get(value);
+        return id != null ? id : register(value);
+    }
+
+    /**
+     * Returns the description of an id.
+     * @param id An id returned by {@link #intern(String)}, other than {@link #OVERFLOW}.
+     */
+    public String valueOf(short id) {
+        int index = id & 0xFFFF;
+        if (index == 0) {
+            return null;
+        }
+        if (id == OVERFLOW) {
+            throw new IllegalArgumentException("Overflowed descriptions are not kept by the catalog");
+        }
+        String[] current = values;
+        String value = index < current.length ? current[index] : null;
+        // Ids obtained through a data race may be newer than the array this thread has seen
+        return value != null ? value : lookUpRegistered(index);
+    }
+
+    /**
+     * Returns the number of distinct descriptions, not counting null.
+     */
+    public synchronized int size() {
+        return size - 1;
+    }
+
+    private synchronized short register(String value) {
+        Short existing = ids.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == maxSize) {
+            return OVERFLOW;
+        }
+        String[] current = values;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[size] = value;
+        values = current;
+        short id = (short) size++;
+        ids.put(value, id);
+        return id;
+    }
+
+    private synchronized String lookUpRegistered(int index) {
+        if (index >= size) {
+            throw new IllegalArgumentException("Unknown component id: " + index);
+        }
+        return values[index];
+    }
+}
@@ -1,58 +1,186 @@
 package org.codeposito.creational.builder;
 
+import com.google.common.collect.MapMaker;
+import org.codeposito.builder.DefaultValue;
+import org.codeposito.builder.GenerateBuilder;
+import org.codeposito.builder.Required;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Predicate;
+
 // Step 1: Complex Object to be built
+// Immutable: all fields are final, so instances can be cached and shared freely.
+// Component descriptions are interned in the shared ComponentCatalog and kept as 16-bit ids,
+// and both booleans share one flags byte, so an instance takes 32 bytes instead of 48.
+// Once the catalog is full, new descriptions get the OVERFLOW id and the computer's descriptions
+// are kept in a side table keyed weakly by the instance, so construction never fails.
 public class Computer {
-    private String cpu;
-    private String ram;
-    private String storage;
-    private String gpu;
-    private String motherboard;
-    private String powerSupply;
-    private String cooling;
-    private boolean hasWifi;
-    private boolean hasBluetooth;
-    private String caseType;
+    static final String DEFAULT_COOLING = "Stock Cooler";
+    static final String DEFAULT_CASE_TYPE = "ATX Mid Tower";
+
+    private static final byte WIFI = 1;
+    private static final byte BLUETOOTH = 2;
+    private static final Predicate<String> FITS_CATALOG = value -> false;
+
+    // Descriptions of computers holding an OVERFLOW id, in constructor order
+    private static final Map<Computer, String[]> OVERFLOWED = new MapMaker().weakKeys().makeMap();
+    private static final int CPU = 0;
+    private static final int RAM = 1;
+    private static final int STORAGE = 2;
+    private static final int GPU = 3;
+    private static final int MOTHERBOARD = 4;
+    private static final int POWER_SUPPLY = 5;
+    private static final int COOLING = 6;
+    private static final int CASE_TYPE = 7;
+
+    private final short cpu;
+    private final short ram;
+    private final short storage;
+    private final short gpu;
+    private final short motherboard;
+    private final short powerSupply;
+    private final short cooling;
+    private final short caseType;
+    private final byte flags;
 
     // Package-private constructor to allow Builder access
-    Computer() {}
+    // ComputerBuilderBase, with its setters and validation, is generated from this constructor
+    @GenerateBuilder
+    Computer(@Required("CPU is required") String cpu,
+             @Required("RAM is required") String ram,
+             @Required("Storage is required") String storage,
+             String gpu, String motherboard, String powerSupply,
+             @DefaultValue(DEFAULT_COOLING) String cooling,
+             boolean hasWifi, boolean hasBluetooth,
+             @DefaultValue(DEFAULT_CASE_TYPE) String caseType) {
+        this(cpu, ram, storage, gpu, motherboard, powerSupply, cooling, caseType, flags(hasWifi, hasBluetooth));
+    }
+
+    // Package-private constructor for builders with components that may not fit into the catalog
+    Computer(String cpu, String ram, String storage, String gpu, String motherboard, String powerSupply,
+             String cooling, String caseType, byte flags) {
+        this(FITS_CATALOG, cpu, ram, storage, gpu, motherboard, powerSupply, cooling, caseType, flags);
+    }
+
+    // The getters decode ids through the shared catalog, so every id comes from it;
+    // tests exercise the overflow path by naming the descriptions that are treated as not fitting
+    Computer(Predicate<String> overflows, String cpu, String ram, String storage, String gpu,
+             String motherboard, String powerSupply, String cooling, String caseType, byte flags) {
+        this(intern(cpu, overflows), intern(ram, overflows), intern(storage, overflows), intern(gpu, overflows),
+                intern(motherboard, overflows), intern(powerSupply, overflows), intern(cooling, overflows),
+                intern(caseType, overflows), flags);
+        if (hasOverflow()) {
+            OVERFLOWED.put(this, new String[] {cpu, ram, storage, gpu, motherboard, powerSupply, cooling, caseType});
+        }
+    }
+
+    // Package-private constructor for builders that already interned the components
+    // None of the ids may be OVERFLOW; such rows go through the String constructors instead
+    Computer(short cpu, short ram, short storage, short gpu, short motherboard, short powerSupply,
+             short cooling, short caseType, byte flags) {
+        this.cpu = cpu;
+        this.ram = ram;
+        this.storage = storage;
+        this.gpu = gpu;
+        this.motherboard = motherboard;
+        this.powerSupply = powerSupply;
+        this.cooling = cooling;
+        this.caseType = caseType;
+        this.flags = flags;
+    }
+
+    private static short intern(String value, Predicate<String> overflows) {
+        return value != null && overflows.test(value)
+                ? ComponentCatalog.OVERFLOW
+                : ComponentCatalog.shared().intern(value);
+    }
+
+    static byte flags(boolean hasWifi, boolean hasBluetooth) {
+        return (byte) ((hasWifi ? WIFI : 0) | (hasBluetooth ? BLUETOOTH : 0));
+    }
 
     // Getters
-    public String getCpu() { return cpu; }
-    public String getRam() { return ram; }
-    public String getStorage() { return storage; }
-    public String getGpu() { return gpu; }
-    public String getMotherboard() { return motherboard; }
-    public String getPowerSupply() { return powerSupply; }
-    public String getCooling() { return cooling; }
-    public boolean hasWifi() { return hasWifi; }
-    public boolean hasBluetooth() { return hasBluetooth; }
-    public String getCaseType() { return caseType; }
-
-    // Setters for Builder
-    void setCpu(String cpu) { this.cpu = cpu; }
-    void setRam(String ram) { this.ram = ram; }
-    void setStorage(String storage) { this.storage = storage; }
-    void setGpu(String gpu) { this.gpu = gpu; }
-    void setMotherboard(String motherboard) { this.motherboard = motherboard; }
-    void setPowerSupply(String powerSupply) { this.powerSupply = powerSupply; }
-    void setCooling(String cooling) { this.cooling = cooling; }
-    void setHasWifi(boolean hasWifi) { this.hasWifi = hasWifi; }
-    void setHasBluetooth(boolean hasBluetooth) { this.hasBluetooth = hasBluetooth; }
-    void setCaseType(String caseType) { this.caseType = caseType; }
+    public String getCpu() { return component(cpu, CPU); }
+    public String getRam() { return component(ram, RAM); }
+    public String getStorage() { return component(storage, STORAGE); }
+    public String getGpu() { return component(gpu, GPU); }
+    public String getMotherboard() { return component(motherboard, MOTHERBOARD); }
+    public String getPowerSupply() { return component(powerSupply, POWER_SUPPLY); }
+    public String getCooling() { return component(cooling, COOLING); }
+    public boolean hasWifi() { return (flags & WIFI) != 0; }
+    public boolean hasBluetooth() { return (flags & BLUETOOTH) != 0; }
+    public String getCaseType() { return component(caseType, CASE_TYPE); }
+
+    /**
+     * Returns a builder starting from this computer, for deriving variants.
+     * This computer is never modified; building without changing anything returns it as is.
+     */
+    public ComputerBuilder toBuilder() {
+        return new ComputerBuilder(this);
+    }
+
+    private String component(short id, int slot) {
+        return id == ComponentCatalog.OVERFLOW ? OVERFLOWED.get(this)[slot] : ComponentCatalog.shared().valueOf(id);
+    }
+
+    private boolean hasOverflow() {
+        return cpu == ComponentCatalog.OVERFLOW || ram == ComponentCatalog.OVERFLOW
+                || storage == ComponentCatalog.OVERFLOW || gpu == ComponentCatalog.OVERFLOW
+                || motherboard == ComponentCatalog.OVERFLOW || powerSupply == ComponentCatalog.OVERFLOW
+                || cooling == ComponentCatalog.OVERFLOW || caseType == ComponentCatalog.OVERFLOW;
+    }
+
+    // Equal descriptions share one catalog id, so comparing ids compares the components
+    // A description that overflowed the catalog overflows it every time, so only those are compared as strings
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Computer)) {
+            return false;
+        }
+        Computer other = (Computer) o;
+        return cpu == other.cpu
+                && ram == other.ram
+                && storage == other.storage
+                && gpu == other.gpu
+                && motherboard == other.motherboard
+                && powerSupply == other.powerSupply
+                && cooling == other.cooling
+                && caseType == other.caseType
+                && flags == other.flags
+                && (!hasOverflow() || Arrays.equals(OVERFLOWED.get(this), OVERFLOWED.get(other)));
+    }
+
+    @Override
+    public int hashCode() {
+        int result = cpu;
+        result = 31 * result + ram;
+        result = 31 * result + storage;
+        result = 31 * result + gpu;
+        result = 31 * result + motherboard;
+        result = 31 * result + powerSupply;
+        result = 31 * result + cooling;
+        result = 31 * result + caseType;
+        result = 31 * result + flags;
+        return hasOverflow() ? 31 * result + Arrays.hashCode(OVERFLOWED.get(this)) : result;
+    }
 
     @Override
     public String toString() {
         return "Computer{" +
-                "cpu='" + cpu + '\'' +
-                ", ram='" + ram + '\'' +
-                ", storage='" + storage + '\'' +
-                ", gpu='" + gpu + '\'' +
-                ", motherboard='" + motherboard + '\'' +
-                ", powerSupply='" + powerSupply + '\'' +
-                ", cooling='" + cooling + '\'' +
-                ", hasWifi=" + hasWifi +
-                ", hasBluetooth=" + hasBluetooth +
-                ", caseType='" + caseType + '\'' +
+                "cpu='" + getCpu() + '\'' +
+                ", ram='" + getRam() + '\'' +
+                ", storage='" + getStorage() + '\'' +
+                ", gpu='" + getGpu() + '\'' +
+                ", motherboard='" + getMotherboard() + '\'' +
+                ", powerSupply='" + getPowerSupply() + '\'' +
+                ", cooling='" + getCooling() + '\'' +
+                ", hasWifi=" + hasWifi() +
+                ", hasBluetooth=" + hasBluetooth() +
+                ", caseType='" + getCaseType() + '\'' +
                 '}';
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,225 @@
+package org.codeposito.creational.builder;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Bulk variant of ComputerBuilder for generating large catalogs
+// Takes one array per component, row i of every array describing computer i, validates all rows
+// up front and builds every Computer in one pass, optionally split across a fork-join pool
+public class ComputerBatchBuilder {
+    private static final int PARALLEL_THRESHOLD = 8192;
+
+    private final int size;
+    private String[] cpu;
+    private String[] ram;
+    private String[] storage;
+    private String[] gpu;
+    private String[] motherboard;
+    private String[] powerSupply;
+    private String[] cooling;
+    private boolean[] hasWifi;
+    private boolean[] hasBluetooth;
+    private String[] caseType;
+    private ForkJoinPool pool;
+
+    public ComputerBatchBuilder(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Batch size must not be negative");
+        }
+        this.size = size;
+    }
+
+    public ComputerBatchBuilder cpu(String[] cpu) {
+        this.cpu = checkLength(cpu);
+        return this;
+    }
+
+    public ComputerBatchBuilder ram(String[] ram) {
+        this.ram = checkLength(ram);
+        return this;
+    }
+
+    public ComputerBatchBuilder storage(String[] storage) {
+        this.storage = checkLength(storage);
+        return this;
+    }
+
+    public ComputerBatchBuilder gpu(String[] gpu) {
+        this.gpu = checkLength(gpu);
+        return this;
+    }
+
+    public ComputerBatchBuilder motherboard(String[] motherboard) {
+        this.motherboard = checkLength(motherboard);
+        return this;
+    }
+
+    public ComputerBatchBuilder powerSupply(String[] powerSupply) {
+        this.powerSupply = checkLength(powerSupply);
+        return this;
+    }
+
+    public ComputerBatchBuilder cooling(String[] cooling) {
+        this.cooling = checkLength(cooling);
+        return this;
+    }
+
+    public ComputerBatchBuilder hasWifi(boolean[] hasWifi) {
+        checkLength(hasWifi.length);
+        this.hasWifi = hasWifi;
+        return this;
+    }
+
+    public ComputerBatchBuilder hasBluetooth(boolean[] hasBluetooth) {
+        checkLength(hasBluetooth.length);
+        this.hasBluetooth = hasBluetooth;
+        return this;
+    }
+
+    public ComputerBatchBuilder caseType(String[] caseType) {
+        this.caseType = checkLength(caseType);
+        return this;
+    }
+
+    // Builds large batches on the common fork-join pool
+    public ComputerBatchBuilder parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    // Builds large batches on the given fork-join pool
+    public ComputerBatchBuilder parallel(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    public Computer[] build() {
+        // Validation logic, for all rows before anything is built
+        checkRequired(cpu, "CPU");
+        checkRequired(ram, "RAM");
+        checkRequired(storage, "Storage");
+
+        Computer[] computers = new Computer[size];
+        if (pool != null && size > PARALLEL_THRESHOLD) {
+            pool.invoke(new BuildTask(computers, 0, size));
+        } else {
+            buildRange(computers, 0, size);
+        }
+        return computers;
+    }
+
+    private void buildRange(Computer[] computers, int from, int to) {
+        ComponentCatalog catalog = ComponentCatalog.shared();
+        ColumnInterner cpuIds = new ColumnInterner(catalog, cpu, null);
+        ColumnInterner ramIds = new ColumnInterner(catalog, ram, null);
+        ColumnInterner storageIds = new ColumnInterner(catalog, storage, null);
+        ColumnInterner gpuIds = new ColumnInterner(catalog, gpu, null);
+        ColumnInterner motherboardIds = new ColumnInterner(catalog, motherboard, null);
+        ColumnInterner powerSupplyIds = new ColumnInterner(catalog, powerSupply, null);
+        ColumnInterner coolingIds = new ColumnInterner(catalog, cooling, Computer.DEFAULT_COOLING);
+        ColumnInterner caseTypeIds = new ColumnInterner(catalog, caseType, Computer.DEFAULT_CASE_TYPE);
+        for (int i = from; i < to; i++) {
+            byte flags = Computer.flags(hasWifi != null && hasWifi[i], hasBluetooth != null && hasBluetooth[i]);
+            short cpuId = cpuIds.idAt(i);
+            short ramId = ramIds.idAt(i);
+            short storageId = storageIds.idAt(i);
+            short gpuId = gpuIds.idAt(i);
+            short motherboardId = motherboardIds.idAt(i);
+            short powerSupplyId = powerSupplyIds.idAt(i);
+            short coolingId = coolingIds.idAt(i);
+            short caseTypeId = caseTypeIds.idAt(i);
+            if (cpuIds.overflowed || ramIds.overflowed || storageIds.overflowed || gpuIds.overflowed
+                    || motherboardIds.overflowed || powerSupplyIds.overflowed || coolingIds.overflowed
+                    || caseTypeIds.overflowed) {
+                // The catalog is full; the String constructor keeps the descriptions that did not fit
+                computers[i] = new Computer(cpuIds.valueAt(i), ramIds.valueAt(i), storageIds.valueAt(i),
+                        gpuIds.valueAt(i), motherboardIds.valueAt(i), powerSupplyIds.valueAt(i),
+                        coolingIds.valueAt(i), caseTypeIds.valueAt(i), flags);
+            } else {
+                computers[i] = new Computer(cpuId, ramId, storageId, gpuId, motherboardId, powerSupplyId,
+                        coolingId, caseTypeId, flags);
+            }
+        }
+    }
+
+    private String[] checkLength(String[] column) {
+        checkLength(column.length);
+        return column;
+    }
+
+    private void checkLength(int rows) {
+        if (rows != size) {
+            throw new IllegalArgumentException("Column has " + rows + " rows, expected " + size);
+        }
+    }
+
+    private void checkRequired(String[] column, String component) {
+        if (column == null) {
+            throw new IllegalStateException(component + " is required");
+        }
+        for (int i = 0; i < size; i++) {
+            if (column[i] == null) {
+                throw new IllegalStateException(component + " is required (row " + i + ")");
+            }
+        }
+    }
+
+    // Turns the values of one column into catalog ids
+    // Catalog rows often repeat a value, so a row holding the same string as the previous one skips the lookup
+    private static final class ColumnInterner {
+        private final ComponentCatalog catalog;
+        private final String[] column;
+        private final String defaultValue;
+        private String lastValue;
+        private short lastId;
+        // Set once a value of the column did not fit into the catalog
+        boolean overflowed;
+
+        ColumnInterner(ComponentCatalog catalog, String[] column, String defaultValue) {
+            this.catalog = catalog;
+            this.column = column;
+            this.defaultValue = defaultValue;
+            this.lastValue = defaultValue;
+            this.lastId = catalog.intern(defaultValue);
+            this.overflowed = lastId == ComponentCatalog.OVERFLOW;
+        }
+
+        short idAt(int row) {
+            String value = valueAt(row);
+            if (value != lastValue) {
+                lastValue = value;
+                lastId = catalog.intern(value);
+                overflowed |= lastId == ComponentCatalog.OVERFLOW;
+            }
+            return lastId;
+        }
+
+        String valueAt(int row) {
+            return column != null && column[row] != null ? column[row] : defaultValue;
+        }
+    }
+
+    // Splits the rows in halves until they are small enough to build directly
+    // Only ever run in the pool that created it, never serialized
+    @SuppressWarnings("serial")
+    private final class BuildTask extends RecursiveAction {
+        private final Computer[] computers;
+        private final int from;
+        private final int to;
+
+        BuildTask(Computer[] computers, int from, int to) {
+            this.computers = computers;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                buildRange(computers, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new BuildTask(computers, from, middle), new BuildTask(computers, middle, to));
+        }
+    }
+}
@@ -1,83 +1,46 @@
 package org.codeposito.creational.builder;
 
 // Step 2: Separate Builder class for Computer
-public class ComputerBuilder {
-    private Computer computer;
+// The setters, the required-field validation and the defaults come from ComputerBuilderBase,
+// generated at compile time from the annotated Computer constructor
+public class ComputerBuilder extends ComputerBuilderBase<ComputerBuilder> {
+    private final Computer base;
+    private InternCache<Computer> cache;
 
     public ComputerBuilder() {
-        computer = new Computer();
+        this.base = null;
     }
 
-    public ComputerBuilder cpu(String cpu) {
-        computer.setCpu(cpu);
-        return this;
-    }
-
-    public ComputerBuilder ram(String ram) {
-        computer.setRam(ram);
-        return this;
-    }
-
-    public ComputerBuilder storage(String storage) {
-        computer.setStorage(storage);
-        return this;
-    }
-
-    public ComputerBuilder gpu(String gpu) {
-        computer.setGpu(gpu);
-        return this;
-    }
-
-    public ComputerBuilder motherboard(String motherboard) {
-        computer.setMotherboard(motherboard);
-        return this;
-    }
-
-    public ComputerBuilder powerSupply(String powerSupply) {
-        computer.setPowerSupply(powerSupply);
-        return this;
-    }
-
-    public ComputerBuilder cooling(String cooling) {
-        computer.setCooling(cooling);
-        return this;
-    }
-
-    public ComputerBuilder hasWifi(boolean hasWifi) {
-        computer.setHasWifi(hasWifi);
-        return this;
+    // Starts from an existing computer, see Computer.toBuilder()
+    ComputerBuilder(Computer base) {
+        this.base = base;
+        cpu(base.getCpu())
+                .ram(base.getRam())
+                .storage(base.getStorage())
+                .gpu(base.getGpu())
+                .motherboard(base.getMotherboard())
+                .powerSupply(base.getPowerSupply())
+                .cooling(base.getCooling())
+                .hasWifi(base.hasWifi())
+                .hasBluetooth(base.hasBluetooth())
+                .caseType(base.getCaseType());
+        modified = false;
     }
 
-    public ComputerBuilder hasBluetooth(boolean hasBluetooth) {
-        computer.setHasBluetooth(hasBluetooth);
+    @Override
+    protected ComputerBuilder self() {
         return this;
     }
 
-    public ComputerBuilder caseType(String caseType) {
-        computer.setCaseType(caseType);
+    // Makes build() return the canonical instance of the cache for identical configurations
+    public ComputerBuilder internedIn(InternCache<Computer> cache) {
+        this.cache = cache;
         return this;
     }
 
     public Computer build() {
-        // Validation logic
-        if (computer.getCpu() == null) {
-            throw new IllegalStateException("CPU is required");
-        }
-        if (computer.getRam() == null) {
-            throw new IllegalStateException("RAM is required");
-        }
-        if (computer.getStorage() == null) {
-            throw new IllegalStateException("Storage is required");
-        }
-        
-        // Set defaults for optional fields
-        if (computer.getCooling() == null) {
-            computer.setCooling("Stock Cooler");
-        }
-        if (computer.getCaseType() == null) {
-            computer.setCaseType("ATX Mid Tower");
-        }
-        
-        return computer;
+        // A derived builder that changed nothing yields the computer it started from
+        Computer computer = base != null && !modified ? base : newInstance();
+        return cache != null ? cache.intern(computer) : computer;
     }
-} 
\ No newline at end of file
+}
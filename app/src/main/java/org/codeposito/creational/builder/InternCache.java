@@ -0,0 +1,95 @@
+package org.codeposito.creational.builder;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Bounded, concurrent cache of canonical instances of an immutable type.
+ * {@link #intern(Object)} returns the instance already cached for an equal value, or caches and
+ * returns the given one, so identical configurations built over and over end up sharing one object.
+ * When the cache is full the least recently used entries are evicted. Hits, misses and evictions
+ * are counted to help sizing the cache.
+ * @param <T> An immutable type with value-based equals and hashCode, such as {@link Pizza} or {@link Computer}.
+ */
+public class InternCache<T> {
+    private final Cache<T, T> cache;
+
+    /**
+     * Creates a cache.
+     * @param maximumSize The maximum number of canonical instances kept.
+     */
+    public InternCache(long maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the canonical instance equal to the value.
+     * @param value The value, cached as the canonical instance if no equal one is cached.
+     */
+    public T intern(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Interned value must not be null");
+        }
+        try {
+            return cache.get(value, () -> value);
+        } catch (ExecutionException e) {
+            // The loader only returns the value itself and cannot fail
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the number of canonical instances currently cached.
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns how often an equal instance was already cached.
+     */
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    /**
+     * Returns how often a value became the canonical instance.
+     */
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    /**
+     * Returns how many canonical instances were evicted to stay within the maximum size.
+     */
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    /**
+     * Returns the share of interned values that were already cached, 1.0 if nothing was interned yet.
+     */
+    public double getHitRate() {
+        return cache.stats().hitRate();
+    }
+
+    @Override
+    public String toString() {
+        CacheStats stats = cache.stats();
+        return "InternCache{" +
+                "size=" + cache.size() +
+                ", hits=" + stats.hitCount() +
+                ", misses=" + stats.missCount() +
+                ", evictions=" + stats.evictionCount() +
+                '}';
+    }
+}
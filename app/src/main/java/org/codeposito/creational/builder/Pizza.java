@@ -1,46 +1,93 @@
 package org.codeposito.creational.builder;
 
-import java.util.ArrayList;
+import org.codeposito.builder.DefaultValue;
+import org.codeposito.builder.GenerateBuilder;
+import org.codeposito.builder.Required;
+
 import java.util.List;
+import java.util.Objects;
 
 // Step 4: Alternative Builder example - Pizza with different approach
+// Immutable: the toppings are a structurally shared ToppingList, handed out without copying
 public class Pizza {
-    private String size;
-    private String crust;
-    private List<String> toppings;
-    private boolean extraCheese;
-    private boolean extraSauce;
-    private String sauceType;
-    private String cheeseType;
-    private boolean stuffedCrust;
+    private final String size;
+    private final String crust;
+    private final ToppingList toppings;
+    private final boolean extraCheese;
+    private final boolean extraSauce;
+    private final String sauceType;
+    private final String cheeseType;
+    private final boolean stuffedCrust;
+    private final int hash;
 
     // Package-private constructor to allow Builder access
-    Pizza() {
-        this.toppings = new ArrayList<>();
+    // PizzaBuilderBase, with its setters and validation, is generated from this constructor
+    @GenerateBuilder
+    Pizza(@Required("Pizza size is required") String size,
+          @Required("Pizza crust is required") String crust,
+          ToppingList toppings, boolean extraCheese, boolean extraSauce,
+          @DefaultValue("Tomato") String sauceType,
+          @DefaultValue("Mozzarella") String cheeseType,
+          boolean stuffedCrust) {
+        this.size = size;
+        this.crust = crust;
+        // The generated toppings(ToppingList) setter accepts null, which means no toppings
+        this.toppings = toppings == null ? ToppingList.empty() : toppings;
+        this.extraCheese = extraCheese;
+        this.extraSauce = extraSauce;
+        this.sauceType = sauceType;
+        this.cheeseType = cheeseType;
+        this.stuffedCrust = stuffedCrust;
+        // The toppings keep their hash up to date, so hashing the whole pizza is cheap enough to do once here
+        this.hash = Objects.hash(size, crust, this.toppings, extraCheese, extraSauce, sauceType, cheeseType, stuffedCrust);
     }
 
     // Getters
     public String getSize() { return size; }
     public String getCrust() { return crust; }
-    public List<String> getToppings() { return new ArrayList<>(toppings); }
+    // The list is immutable, so it is returned as is
+    public List<String> getToppings() { return toppings; }
     public boolean isExtraCheese() { return extraCheese; }
     public boolean isExtraSauce() { return extraSauce; }
     public String getSauceType() { return sauceType; }
     public String getCheeseType() { return cheeseType; }
     public boolean isStuffedCrust() { return stuffedCrust; }
 
-    // Setters for Builder
-    void setSize(String size) { this.size = size; }
-    void setCrust(String crust) { this.crust = crust; }
-    void setExtraCheese(boolean extraCheese) { this.extraCheese = extraCheese; }
-    void setExtraSauce(boolean extraSauce) { this.extraSauce = extraSauce; }
-    void setSauceType(String sauceType) { this.sauceType = sauceType; }
-    void setCheeseType(String cheeseType) { this.cheeseType = cheeseType; }
-    void setStuffedCrust(boolean stuffedCrust) { this.stuffedCrust = stuffedCrust; }
-    
-    // Method to add toppings
-    void addTopping(String topping) {
-        this.toppings.add(topping);
+    /**
+     * Returns a builder starting from this pizza, for deriving variants.
+     * The builder shares this pizza's toppings instead of copying them.
+     */
+    public PizzaBuilder toBuilder() {
+        return new PizzaBuilder(this);
+    }
+
+    ToppingList getToppingList() {
+        return toppings;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Pizza)) {
+            return false;
+        }
+        Pizza other = (Pizza) o;
+        return hash == other.hash
+                && extraCheese == other.extraCheese
+                && extraSauce == other.extraSauce
+                && stuffedCrust == other.stuffedCrust
+                && Objects.equals(size, other.size)
+                && Objects.equals(crust, other.crust)
+                && Objects.equals(sauceType, other.sauceType)
+                && Objects.equals(cheeseType, other.cheeseType)
+                && toppings.equals(other.toppings);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
     }
 
     @Override
@@ -56,4 +103,4 @@ public class Pizza {
                 ", stuffedCrust=" + stuffedCrust +
                 '}';
     }
-} 
\ No newline at end of file
+}
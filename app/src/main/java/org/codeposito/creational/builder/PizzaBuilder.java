@@ -1,77 +1,58 @@
 package org.codeposito.creational.builder;
 
 // Step 3: Separate Builder class for Pizza
-public class PizzaBuilder {
-    private Pizza pizza;
+// The setters, the required-field validation and the defaults come from PizzaBuilderBase,
+// generated at compile time from the annotated Pizza constructor.
+// Toppings are appended to a persistent ToppingList, so built pizzas and the builder share them
+public class PizzaBuilder extends PizzaBuilderBase<PizzaBuilder> {
+    private InternCache<Pizza> cache;
 
     public PizzaBuilder() {
-        pizza = new Pizza();
+        toppings = ToppingList.empty();
     }
 
-    public PizzaBuilder size(String size) {
-        pizza.setSize(size);
-        return this;
+    // Starts from an existing pizza, see Pizza.toBuilder()
+    PizzaBuilder(Pizza base) {
+        size(base.getSize())
+                .crust(base.getCrust())
+                .toppings(base.getToppingList())
+                .extraCheese(base.isExtraCheese())
+                .extraSauce(base.isExtraSauce())
+                .sauceType(base.getSauceType())
+                .cheeseType(base.getCheeseType())
+                .stuffedCrust(base.isStuffedCrust());
     }
 
-    public PizzaBuilder crust(String crust) {
-        pizza.setCrust(crust);
+    @Override
+    protected PizzaBuilder self() {
         return this;
     }
 
     public PizzaBuilder addTopping(String topping) {
-        pizza.addTopping(topping);
+        toppings = currentToppings().append(topping);
         return this;
     }
 
     public PizzaBuilder addToppings(String... toppings) {
         for (String topping : toppings) {
-            pizza.addTopping(topping);
+            this.toppings = currentToppings().append(topping);
         }
         return this;
     }
 
-    public PizzaBuilder extraCheese(boolean extraCheese) {
-        pizza.setExtraCheese(extraCheese);
-        return this;
-    }
-
-    public PizzaBuilder extraSauce(boolean extraSauce) {
-        pizza.setExtraSauce(extraSauce);
-        return this;
-    }
-
-    public PizzaBuilder sauceType(String sauceType) {
-        pizza.setSauceType(sauceType);
-        return this;
+    // toppings(null) clears the toppings, like Pizza's constructor treats null
+    private ToppingList currentToppings() {
+        return toppings == null ? ToppingList.empty() : toppings;
     }
 
-    public PizzaBuilder cheeseType(String cheeseType) {
-        pizza.setCheeseType(cheeseType);
-        return this;
-    }
-
-    public PizzaBuilder stuffedCrust(boolean stuffedCrust) {
-        pizza.setStuffedCrust(stuffedCrust);
+    // Makes build() return the canonical instance of the cache for identical orders
+    public PizzaBuilder internedIn(InternCache<Pizza> cache) {
+        this.cache = cache;
         return this;
     }
 
     public Pizza build() {
-        // Validation
-        if (pizza.getSize() == null) {
-            throw new IllegalStateException("Pizza size is required");
-        }
-        if (pizza.getCrust() == null) {
-            throw new IllegalStateException("Pizza crust is required");
-        }
-        
-        // Set defaults
-        if (pizza.getSauceType() == null) {
-            pizza.setSauceType("Tomato");
-        }
-        if (pizza.getCheeseType() == null) {
-            pizza.setCheeseType("Mozzarella");
-        }
-        
-        return pizza;
+        Pizza pizza = newInstance();
+        return cache != null ? cache.intern(pizza) : pizza;
     }
-} 
\ No newline at end of file
+}
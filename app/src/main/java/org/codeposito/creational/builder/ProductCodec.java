@@ -0,0 +1,101 @@
+package org.codeposito.creational.builder;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary format shared by {@link ProductStreamWriter} and {@link ProductStreamReader}.
+ *
+ * <p>A stream starts with {@link #MAGIC} and {@link #VERSION}, followed by records. Every record is
+ * an {@code int} byte length, a type tag and the fields of a {@link Computer} or {@link Pizza}.
+ * Strings are dictionary-encoded per stream as a varint: 0 is null, 1 introduces a new string
+ * (varint UTF-8 length and bytes) that gets the next dictionary index, and n + 2 refers to the
+ * string at dictionary index n. Booleans are packed into one flags byte.
+ */
+final class ProductCodec {
+    static final int MAGIC = 0x43505A53; // "CPZS"
+    static final byte VERSION = 1;
+    static final byte COMPUTER = 1;
+    static final byte PIZZA = 2;
+    static final int NULL_STRING = 0;
+    static final int NEW_STRING = 1;
+    static final int FIRST_REFERENCE = 2;
+    static final int MAX_VARINT_BYTES = 5;
+
+    private ProductCodec() {
+    }
+
+    static void writeVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    /**
+     * Returns the number of bytes the string takes in UTF-8.
+     */
+    static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    length += 4;
+                    i++;
+                } else {
+                    length++;
+                }
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Encodes the string as UTF-8 straight into the buffer, without an intermediate byte array.
+     * Unpaired surrogates are written as '?', like {@link String#getBytes} does.
+     */
+    static void writeUtf8(ByteBuffer buffer, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                    buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                    buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                    buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+                } else {
+                    buffer.put((byte) '?');
+                }
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.codeposito.creational.builder;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the {@link Computer} and {@link Pizza} objects written by {@link ProductStreamWriter}.
+ * The channel is read in large blocks and records are decoded from the buffer; every dictionary
+ * string is decoded once and shared by all records referring to it. Not thread-safe.
+ */
+public class ProductStreamReader implements AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ReadableByteChannel channel;
+    private final List<String> dictionary = new ArrayList<>();
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    /**
+     * Opens a stream on the channel and checks its header.
+     * @param channel The channel the stream is read from, closed with this reader.
+     * @throws StreamCorruptedException if the channel does not hold a product stream.
+     */
+    public ProductStreamReader(ReadableByteChannel channel) throws IOException {
+        this.channel = channel;
+        buffer.flip();
+        if (!fill(Integer.BYTES + 1) || buffer.getInt() != ProductCodec.MAGIC) {
+            throw new StreamCorruptedException("Not a product stream");
+        }
+        byte version = buffer.get();
+        if (version != ProductCodec.VERSION) {
+            throw new StreamCorruptedException("Unsupported product stream version " + version);
+        }
+    }
+
+    /**
+     * Opens a stream in a file.
+     * @param file The file to read.
+     */
+    public static ProductStreamReader open(Path file) throws IOException {
+        return new ProductStreamReader(FileChannel.open(file, StandardOpenOption.READ));
+    }
+
+    /**
+     * Returns the next object of the stream, a {@link Computer} or a {@link Pizza}, or null at the end of the stream.
+     * @throws EOFException if the stream ends in the middle of a record.
+     */
+    public Object next() throws IOException {
+        if (!fill(Integer.BYTES)) {
+            return null;
+        }
+        int length = buffer.getInt();
+        if (!fill(length)) {
+            throw new EOFException("Product stream ends inside a record of " + length + " bytes");
+        }
+        int end = buffer.position() + length;
+        byte tag = buffer.get();
+        Object product;
+        if (tag == ProductCodec.COMPUTER) {
+            product = readComputer();
+        } else if (tag == ProductCodec.PIZZA) {
+            product = readPizza();
+        } else {
+            throw new StreamCorruptedException("Unknown record type " + tag);
+        }
+        if (buffer.position() != end) {
+            throw new StreamCorruptedException("Record length does not match its content");
+        }
+        return product;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Computer readComputer() {
+        String cpu = readString();
+        String ram = readString();
+        String storage = readString();
+        String gpu = readString();
+        String motherboard = readString();
+        String powerSupply = readString();
+        String cooling = readString();
+        String caseType = readString();
+        byte flags = buffer.get();
+        return new Computer(cpu, ram, storage, gpu, motherboard, powerSupply, cooling,
+                (flags & 1) != 0, (flags & 2) != 0, caseType);
+    }
+
+    private Pizza readPizza() {
+        String size = readString();
+        String crust = readString();
+        String sauceType = readString();
+        String cheeseType = readString();
+        byte flags = buffer.get();
+        int toppingCount = ProductCodec.readVarInt(buffer);
+        ToppingList toppings = ToppingList.empty();
+        for (int i = 0; i < toppingCount; i++) {
+            toppings = toppings.append(readString());
+        }
+        return new Pizza(size, crust, toppings, (flags & 1) != 0, (flags & 2) != 0, sauceType, cheeseType,
+                (flags & 4) != 0);
+    }
+
+    private String readString() {
+        int code = ProductCodec.readVarInt(buffer);
+        if (code == ProductCodec.NULL_STRING) {
+            return null;
+        }
+        if (code != ProductCodec.NEW_STRING) {
+            return dictionary.get(code - ProductCodec.FIRST_REFERENCE);
+        }
+        int length = ProductCodec.readVarInt(buffer);
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        dictionary.add(value);
+        return value;
+    }
+
+    /**
+     * Makes sure at least size bytes are buffered, returns false if the stream ends cleanly first.
+     */
+    private boolean fill(int size) throws IOException {
+        if (buffer.remaining() >= size) {
+            return true;
+        }
+        if (buffer.capacity() < size) {
+            ByteBuffer grown = ByteBuffer.allocate(size);
+            grown.put(buffer);
+            buffer = grown;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < size) {
+            if (channel.read(buffer) < 0) {
+                buffer.flip();
+                if (buffer.hasRemaining()) {
+                    throw new EOFException("Product stream ends inside a record");
+                }
+                return false;
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+}
@@ -0,0 +1,171 @@
+package org.codeposito.creational.builder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes {@link Computer} and {@link Pizza} objects to a channel in the binary format of {@link ProductCodec}.
+ * Records are encoded straight into a direct buffer that is handed to the channel whenever it
+ * fills up, so exporting millions of configurations builds no strings and needs no per-record I/O.
+ * Every distinct component string is written once; later occurrences are a small dictionary index.
+ * Not thread-safe.
+ */
+public class ProductStreamWriter implements AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int STRING_REFERENCE_BYTES = ProductCodec.MAX_VARINT_BYTES;
+
+    private final WritableByteChannel channel;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long recordCount;
+
+    /**
+     * Starts a stream on the channel.
+     * @param channel The channel the stream is written to, closed with this writer.
+     */
+    public ProductStreamWriter(WritableByteChannel channel) {
+        this.channel = channel;
+        buffer.putInt(ProductCodec.MAGIC);
+        buffer.put(ProductCodec.VERSION);
+    }
+
+    /**
+     * Starts a stream in a file, replacing its content.
+     * @param file The file to write to.
+     */
+    public static ProductStreamWriter open(Path file) throws IOException {
+        return new ProductStreamWriter(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    /**
+     * Appends a computer to the stream.
+     * @param computer The computer to write.
+     */
+    public void write(Computer computer) throws IOException {
+        int bound = Integer.BYTES + 2
+                + maxStringBytes(computer.getCpu()) + maxStringBytes(computer.getRam())
+                + maxStringBytes(computer.getStorage()) + maxStringBytes(computer.getGpu())
+                + maxStringBytes(computer.getMotherboard()) + maxStringBytes(computer.getPowerSupply())
+                + maxStringBytes(computer.getCooling()) + maxStringBytes(computer.getCaseType());
+        int start = beginRecord(bound, ProductCodec.COMPUTER);
+        writeString(computer.getCpu());
+        writeString(computer.getRam());
+        writeString(computer.getStorage());
+        writeString(computer.getGpu());
+        writeString(computer.getMotherboard());
+        writeString(computer.getPowerSupply());
+        writeString(computer.getCooling());
+        writeString(computer.getCaseType());
+        buffer.put((byte) ((computer.hasWifi() ? 1 : 0) | (computer.hasBluetooth() ? 2 : 0)));
+        endRecord(start);
+    }
+
+    /**
+     * Appends a pizza to the stream.
+     * @param pizza The pizza to write.
+     */
+    public void write(Pizza pizza) throws IOException {
+        List<String> toppings = pizza.getToppings();
+        int bound = Integer.BYTES + 2 + ProductCodec.MAX_VARINT_BYTES
+                + maxStringBytes(pizza.getSize()) + maxStringBytes(pizza.getCrust())
+                + maxStringBytes(pizza.getSauceType()) + maxStringBytes(pizza.getCheeseType());
+        for (int i = 0; i < toppings.size(); i++) {
+            bound += maxStringBytes(toppings.get(i));
+        }
+        int start = beginRecord(bound, ProductCodec.PIZZA);
+        writeString(pizza.getSize());
+        writeString(pizza.getCrust());
+        writeString(pizza.getSauceType());
+        writeString(pizza.getCheeseType());
+        buffer.put((byte) ((pizza.isExtraCheese() ? 1 : 0) | (pizza.isExtraSauce() ? 2 : 0) | (pizza.isStuffedCrust() ? 4 : 0)));
+        ProductCodec.writeVarInt(buffer, toppings.size());
+        for (int i = 0; i < toppings.size(); i++) {
+            writeString(toppings.get(i));
+        }
+        endRecord(start);
+    }
+
+    /**
+     * Returns the number of records written so far.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Hands everything buffered to the channel.
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes the stream and closes the channel.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Makes room for a record of at most bound bytes and writes its header.
+     * @return The position of the length prefix, patched by {@link #endRecord(int)}.
+     */
+    private int beginRecord(int bound, byte tag) throws IOException {
+        if (buffer.remaining() < bound) {
+            flush();
+            if (buffer.capacity() < bound) {
+                buffer = ByteBuffer.allocateDirect(bound);
+            }
+        }
+        int start = buffer.position();
+        buffer.putInt(0);
+        buffer.put(tag);
+        return start;
+    }
+
+    private void endRecord(int start) {
+        buffer.putInt(start, buffer.position() - start - Integer.BYTES);
+        recordCount++;
+    }
+
+    private int maxStringBytes(String value) {
+        if (value == null || dictionary.containsKey(value)) {
+            return STRING_REFERENCE_BYTES;
+        }
+        // The string may repeat within the record, the bound then just overestimates
+        return 1 + ProductCodec.MAX_VARINT_BYTES + 3 * value.length();
+    }
+
+    private void writeString(String value) {
+        if (value == null) {
+            ProductCodec.writeVarInt(buffer, ProductCodec.NULL_STRING);
+            return;
+        }
+        Integer index = dictionary.get(value);
+        if (index != null) {
+            ProductCodec.writeVarInt(buffer, index + ProductCodec.FIRST_REFERENCE);
+            return;
+        }
+        dictionary.put(value, dictionary.size());
+        ProductCodec.writeVarInt(buffer, ProductCodec.NEW_STRING);
+        ProductCodec.writeVarInt(buffer, ProductCodec.utf8Length(value));
+        ProductCodec.writeUtf8(buffer, value);
+    }
+}
@@ -0,0 +1,126 @@
+package org.codeposito.creational.builder;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable, structurally shared list of toppings.
+ * {@link #append(String)} returns a new list and leaves this one unchanged. The new list shares
+ * the backing array with this one whenever it can: the first list to append at the end of the
+ * array claims the next slot with a compare-and-set and writes into it, so a chain of appends
+ * costs amortized O(1) without copying; any other list appending at the same position copies
+ * its own elements first. Reads never copy, and the hash code is maintained on every append,
+ * so hashing is free and unequal lists are usually told apart without comparing elements.
+ */
+public final class ToppingList extends AbstractList<String> implements RandomAccess {
+    private static final ToppingList EMPTY = new ToppingList(new Buffer(new String[4]), 0, 1);
+
+    private final Buffer buffer;
+    private final int size;
+    private final int hash;
+
+    private ToppingList(Buffer buffer, int size, int hash) {
+        this.buffer = buffer;
+        this.size = size;
+        this.hash = hash;
+    }
+
+    /**
+     * Returns the empty list.
+     */
+    public static ToppingList empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a list holding the given toppings.
+     * @param toppings The toppings, in order.
+     */
+    public static ToppingList of(String... toppings) {
+        ToppingList list = EMPTY;
+        for (String topping : toppings) {
+            list = list.append(topping);
+        }
+        return list;
+    }
+
+    /**
+     * Returns a list with the topping added at the end. This list is not modified.
+     * @param topping The topping to add.
+     */
+    public ToppingList append(String topping) {
+        int newHash = 31 * hash + (topping == null ? 0 : topping.hashCode());
+        String[] items = buffer.items;
+        if (size < items.length && buffer.used.compareAndSet(size, size + 1)) {
+            // This list ends where the shared array ends, so the next slot is ours
+            items[size] = topping;
+            return new ToppingList(buffer, size + 1, newHash);
+        }
+        String[] copy = Arrays.copyOf(items, Math.max(4, size * 2));
+        copy[size] = topping;
+        return new ToppingList(new Buffer(copy, size + 1), size + 1, newHash);
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return buffer.items[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof ToppingList) {
+            ToppingList other = (ToppingList) o;
+            if (size != other.size || hash != other.hash) {
+                return false;
+            }
+            if (buffer == other.buffer) {
+                // Same shared array and length: the same elements
+                return true;
+            }
+            for (int i = 0; i < size; i++) {
+                if (!Objects.equals(buffer.items[i], other.buffer.items[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return o instanceof List && super.equals(o);
+    }
+
+    /**
+     * Backing array shared by lists, with the number of slots already claimed.
+     */
+    private static final class Buffer {
+        final String[] items;
+        final AtomicInteger used;
+
+        Buffer(String[] items) {
+            this(items, 0);
+        }
+
+        Buffer(String[] items, int used) {
+            this.items = items;
+            this.used = new AtomicInteger(used);
+        }
+    }
+}
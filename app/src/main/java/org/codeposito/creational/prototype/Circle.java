@@ -1,5 +1,7 @@
 package org.codeposito.creational.prototype;
 
+import java.util.Objects;
+
 /**
  * Circle class extending Shape
  * Demonstrates prototype pattern with concrete shape implementation using copy constructors
@@ -45,6 +47,22 @@ public class Circle extends Shape {
         return new Circle(this);
     }
 
+    /**
+     * Fills the range with copies made by the copy constructor
+     * Subclasses that do not override cloneInto() go through their own clone() instead
+     */
+    @Override
+    public void cloneInto(Shape[] dest, int from, int to) {
+        if (getClass() != Circle.class) {
+            super.cloneInto(dest, from, to);
+            return;
+        }
+        Objects.checkFromToIndex(from, to, dest.length);
+        for (int i = from; i < to; i++) {
+            dest[i] = new Circle(this);
+        }
+    }
+
     @Override
     public boolean equals(Object object2) {
         if (!(object2 instanceof Circle) || !super.equals(object2)) return false;
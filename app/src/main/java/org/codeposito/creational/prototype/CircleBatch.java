@@ -0,0 +1,78 @@
+package org.codeposito.creational.prototype;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * CircleBatch class holding many circles cloned from one prototype as parallel arrays
+ * Each attribute is one array indexed by circle, so creating a batch is a few array fills
+ * instead of one object per circle, and bulk updates run over contiguous primitive arrays
+ */
+public class CircleBatch {
+    private final String[] colors;
+    private final int[] x;
+    private final int[] y;
+    private final double[] radius;
+
+    /**
+     * Creates a batch of size copies of the prototype
+     * @param prototype the Circle every element starts as
+     * @param size the number of circles
+     */
+    public CircleBatch(Circle prototype, int size) {
+        Objects.requireNonNull(prototype, "prototype");
+        if (size < 0) {
+            throw new IllegalArgumentException("Batch size must not be negative");
+        }
+        colors = new String[size];
+        x = new int[size];
+        y = new int[size];
+        radius = new double[size];
+        Arrays.fill(colors, prototype.getColor());
+        Arrays.fill(x, prototype.getX());
+        Arrays.fill(y, prototype.getY());
+        Arrays.fill(radius, prototype.getRadius());
+    }
+
+    public int size() { return x.length; }
+
+    // Getters
+    public String getColor(int index) { return colors[index]; }
+    public int getX(int index) { return x[index]; }
+    public int getY(int index) { return y[index]; }
+    public double getRadius(int index) { return radius[index]; }
+
+    // Setters
+    public void setColor(int index, String color) { colors[index] = color; }
+    public void setX(int index, int x) { this.x[index] = x; }
+    public void setY(int index, int y) { this.y[index] = y; }
+    public void setRadius(int index, double radius) { this.radius[index] = radius; }
+
+    /**
+     * Moves every circle of the batch by the given offset
+     */
+    public void translate(int dx, int dy) {
+        for (int i = 0; i < x.length; i++) {
+            x[i] += dx;
+            y[i] += dy;
+        }
+    }
+
+    /**
+     * Sum of the areas of all circles in the batch
+     */
+    public double getTotalArea() {
+        double sum = 0;
+        for (double r : radius) {
+            sum += r * r;
+        }
+        return Math.PI * sum;
+    }
+
+    /**
+     * Creates a standalone Circle from one element of the batch
+     */
+    public Circle toShape(int index) {
+        return new Circle(colors[index], x[index], y[index], radius[index]);
+    }
+}
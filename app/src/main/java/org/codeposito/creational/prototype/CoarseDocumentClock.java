@@ -0,0 +1,68 @@
+package org.codeposito.creational.prototype;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CoarseDocumentClock class caching the current time in a volatile field
+ * A daemon thread refreshes the cached time at a fixed granularity, so reading the clock is a single
+ * field read instead of a system call. Timestamps can lag the real time by up to the granularity.
+ */
+public final class CoarseDocumentClock implements DocumentClock, AutoCloseable {
+    private final DocumentClock source;
+    private final ScheduledExecutorService refresher;
+    private volatile long epochNanos;
+
+    /**
+     * Creates a clock refreshed from the system clock
+     * @param granularity time between refreshes
+     * @param unit unit of the granularity
+     */
+    public CoarseDocumentClock(long granularity, TimeUnit unit) {
+        this(DocumentClock.system(), granularity, unit);
+    }
+
+    CoarseDocumentClock(DocumentClock source, long granularity, TimeUnit unit) {
+        if (granularity <= 0) {
+            throw new IllegalArgumentException("Granularity must be positive");
+        }
+        this.source = source;
+        this.epochNanos = source.epochNanos();
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "coarse-document-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleAtFixedRate(this::refresh, granularity, granularity, unit);
+    }
+
+    /**
+     * Returns the clock shared by DocumentClock.coarse(), refreshed every millisecond
+     */
+    static CoarseDocumentClock shared() {
+        return Shared.INSTANCE;
+    }
+
+    @Override
+    public long epochNanos() {
+        return epochNanos;
+    }
+
+    void refresh() {
+        epochNanos = source.epochNanos();
+    }
+
+    /**
+     * Stops refreshing; the clock keeps returning the last cached time
+     */
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+
+    // Started on first use of DocumentClock.coarse()
+    private static final class Shared {
+        static final CoarseDocumentClock INSTANCE = new CoarseDocumentClock(1, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,361 @@
+package org.codeposito.creational.prototype;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ContentRope class storing document text as an immutable tree of string chunks
+ * Leaves hold at most CHUNK_SIZE characters and inner nodes concatenate two subtrees, so an edit
+ * rebuilds only the nodes on the path to the edited position and every other chunk is shared with
+ * the previous version. Documents cloned from each other therefore share their text for free.
+ * The flattened string is built once per rope and kept, a rope is never changed after all.
+ */
+final class ContentRope {
+    static final int CHUNK_SIZE = 4096;
+    // Edits deepen and fragment the tree; past this depth, or this many leaves beyond twice the
+    // number of full chunks, it is rebuilt balanced from its leaves with small neighbours merged
+    private static final int MAX_DEPTH = 48;
+    private static final int LEAF_SLACK = 16;
+    private static final int ENCODE_BUFFER_SIZE = 8192;
+
+    static final ContentRope EMPTY = new ContentRope(new Leaf(""));
+
+    private final Node root;
+    private String flattened;
+
+    private ContentRope(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Creates a rope holding the given text
+     * Text that fits one chunk is kept as it is, longer text is split into chunks
+     */
+    static ContentRope of(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Content must not be null");
+        }
+        return text.isEmpty() ? EMPTY : new ContentRope(build(text));
+    }
+
+    int length() {
+        return root.length;
+    }
+
+    char charAt(int index) {
+        if (index < 0 || index >= root.length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + root.length);
+        }
+        Node node = root;
+        while (node instanceof Concat concat) {
+            if (index < concat.left.length) {
+                node = concat.left;
+            } else {
+                index -= concat.left.length;
+                node = concat.right;
+            }
+        }
+        return ((Leaf) node).text.charAt(index);
+    }
+
+    /**
+     * Returns the rope of the characters between start (inclusive) and end (exclusive)
+     */
+    ContentRope subRope(int start, int end) {
+        checkRange(start, end);
+        if (start == 0 && end == root.length) {
+            return this;
+        }
+        return start == end ? EMPTY : new ContentRope(slice(root, start, end));
+    }
+
+    ContentRope insert(int offset, String text) {
+        checkRange(offset, offset);
+        if (text == null) {
+            throw new IllegalArgumentException("Inserted text must not be null");
+        }
+        if (text.isEmpty()) {
+            return this;
+        }
+        Node inserted = build(text);
+        Node result = concat(concat(slice(root, 0, offset), inserted), slice(root, offset, root.length));
+        return new ContentRope(balanced(result));
+    }
+
+    ContentRope delete(int start, int end) {
+        checkRange(start, end);
+        if (start == end) {
+            return this;
+        }
+        return new ContentRope(balanced(concat(slice(root, 0, start), slice(root, end, root.length))));
+    }
+
+    ContentRope append(String text) {
+        return insert(root.length, text);
+    }
+
+    /**
+     * Encodes the text as UTF-8 into the channel chunk by chunk, without building the whole string
+     * @return the number of bytes written
+     */
+    long writeTo(WritableByteChannel channel) throws IOException {
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer chars = CharBuffer.allocate(ENCODE_BUFFER_SIZE);
+        ByteBuffer bytes = ByteBuffer.allocate((int) (ENCODE_BUFFER_SIZE * encoder.maxBytesPerChar()));
+        long written = 0;
+        List<Leaf> leaves = new ArrayList<>();
+        collectLeaves(root, leaves);
+        for (Leaf leaf : leaves) {
+            String text = leaf.text;
+            int position = 0;
+            while (position < text.length()) {
+                int count = Math.min(chars.remaining(), text.length() - position);
+                text.getChars(position, position + count, chars.array(), chars.arrayOffset() + chars.position());
+                chars.position(chars.position() + count);
+                position += count;
+                if (!chars.hasRemaining()) {
+                    // A high surrogate at the end of the buffer stays in it until its pair arrives
+                    written += encode(encoder, chars, bytes, channel, false);
+                }
+            }
+        }
+        written += encode(encoder, chars, bytes, channel, true);
+        bytes.clear();
+        check(encoder.flush(bytes));
+        bytes.flip();
+        return written + drain(bytes, channel);
+    }
+
+    @Override
+    public String toString() {
+        if (root instanceof Leaf leaf) {
+            return leaf.text;
+        }
+        // Racy but safe: every thread builds an equal immutable string
+        String text = flattened;
+        if (text == null) {
+            StringBuilder builder = new StringBuilder(root.length);
+            List<Leaf> leaves = new ArrayList<>();
+            collectLeaves(root, leaves);
+            for (Leaf leaf : leaves) {
+                builder.append(leaf.text);
+            }
+            text = builder.toString();
+            flattened = text;
+        }
+        return text;
+    }
+
+    int depth() {
+        return root.depth;
+    }
+
+    int leafCount() {
+        return root.leafCount;
+    }
+
+    private void checkRange(int start, int end) {
+        if (start < 0 || end > root.length || start > end) {
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") out of bounds for length " + root.length);
+        }
+    }
+
+    private static long encode(CharsetEncoder encoder, CharBuffer chars, ByteBuffer bytes,
+                               WritableByteChannel channel, boolean endOfInput) throws IOException {
+        chars.flip();
+        long written = 0;
+        while (true) {
+            bytes.clear();
+            CoderResult result = encoder.encode(chars, bytes, endOfInput);
+            check(result);
+            bytes.flip();
+            written += drain(bytes, channel);
+            if (result.isUnderflow()) {
+                break;
+            }
+        }
+        chars.compact();
+        return written;
+    }
+
+    private static void check(CoderResult result) throws CharacterCodingException {
+        if (result.isError()) {
+            result.throwException();
+        }
+    }
+
+    private static long drain(ByteBuffer bytes, WritableByteChannel channel) throws IOException {
+        long written = bytes.remaining();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        return written;
+    }
+
+    /**
+     * Builds a balanced tree over the chunks of the text
+     */
+    private static Node build(String text) {
+        if (text.length() <= CHUNK_SIZE) {
+            return new Leaf(text);
+        }
+        List<Node> chunks = new ArrayList<>(text.length() / CHUNK_SIZE + 1);
+        int start = 0;
+        while (start < text.length()) {
+            int end = Math.min(start + CHUNK_SIZE, text.length());
+            // Keep surrogate pairs inside one chunk
+            if (end < text.length() && Character.isHighSurrogate(text.charAt(end - 1))) {
+                end--;
+            }
+            chunks.add(new Leaf(text.substring(start, end)));
+            start = end;
+        }
+        return build(chunks, 0, chunks.size());
+    }
+
+    private static Node build(List<? extends Node> leaves, int from, int to) {
+        if (to - from == 1) {
+            return leaves.get(from);
+        }
+        int middle = (from + to) >>> 1;
+        return new Concat(build(leaves, from, middle), build(leaves, middle, to));
+    }
+
+    private static Node slice(Node node, int start, int end) {
+        if (start == 0 && end == node.length) {
+            return node;
+        }
+        if (node instanceof Leaf leaf) {
+            return new Leaf(leaf.text.substring(start, end));
+        }
+        Concat concat = (Concat) node;
+        int leftLength = concat.left.length;
+        if (end <= leftLength) {
+            return slice(concat.left, start, end);
+        }
+        if (start >= leftLength) {
+            return slice(concat.right, start - leftLength, end - leftLength);
+        }
+        return concat(slice(concat.left, start, leftLength), slice(concat.right, 0, end - leftLength));
+    }
+
+    private static Node concat(Node left, Node right) {
+        if (left.length == 0) {
+            return right;
+        }
+        if (right.length == 0) {
+            return left;
+        }
+        // Merge a leaf into the neighbouring leaf of the other side so repeated small edits do not fragment the text
+        Node merged = null;
+        if (right instanceof Leaf r) {
+            merged = appendToLastLeaf(left, r);
+        } else if (left instanceof Leaf l) {
+            merged = prependToFirstLeaf(l, right);
+        }
+        return merged != null ? merged : new Concat(left, right);
+    }
+
+    /**
+     * Rebuilds the right spine of the node with the leaf joined to its last leaf, or returns null if they do not fit one chunk
+     */
+    private static Node appendToLastLeaf(Node node, Leaf leaf) {
+        if (node instanceof Leaf last) {
+            return last.length + leaf.length <= CHUNK_SIZE ? new Leaf(last.text + leaf.text) : null;
+        }
+        Concat concat = (Concat) node;
+        Node right = appendToLastLeaf(concat.right, leaf);
+        return right == null ? null : new Concat(concat.left, right);
+    }
+
+    /**
+     * Rebuilds the left spine of the node with the leaf joined to its first leaf, or returns null if they do not fit one chunk
+     */
+    private static Node prependToFirstLeaf(Leaf leaf, Node node) {
+        if (node instanceof Leaf first) {
+            return leaf.length + first.length <= CHUNK_SIZE ? new Leaf(leaf.text + first.text) : null;
+        }
+        Concat concat = (Concat) node;
+        Node left = prependToFirstLeaf(leaf, concat.left);
+        return left == null ? null : new Concat(left, concat.right);
+    }
+
+    private static Node balanced(Node node) {
+        if (node.depth <= MAX_DEPTH && node.leafCount <= 2 * (node.length / CHUNK_SIZE) + LEAF_SLACK) {
+            return node;
+        }
+        List<Leaf> leaves = new ArrayList<>();
+        collectLeaves(node, leaves);
+        List<Leaf> merged = new ArrayList<>(leaves.size());
+        StringBuilder pending = new StringBuilder(CHUNK_SIZE);
+        for (Leaf leaf : leaves) {
+            if (pending.length() + leaf.length > CHUNK_SIZE) {
+                merged.add(new Leaf(pending.toString()));
+                pending.setLength(0);
+            }
+            if (pending.isEmpty() && leaf.length * 2 > CHUNK_SIZE) {
+                // Large leaves are shared as they are
+                merged.add(leaf);
+            } else {
+                pending.append(leaf.text);
+            }
+        }
+        if (!pending.isEmpty()) {
+            merged.add(new Leaf(pending.toString()));
+        }
+        return build(merged, 0, merged.size());
+    }
+
+    private static void collectLeaves(Node node, List<Leaf> leaves) {
+        // Iterate down the right spine and recurse left, the depth is bounded by MAX_DEPTH anyway
+        while (node instanceof Concat concat) {
+            collectLeaves(concat.left, leaves);
+            node = concat.right;
+        }
+        leaves.add((Leaf) node);
+    }
+
+    private abstract static class Node {
+        final int length;
+        final int depth;
+        final int leafCount;
+
+        Node(int length, int depth, int leafCount) {
+            this.length = length;
+            this.depth = depth;
+            this.leafCount = leafCount;
+        }
+    }
+
+    private static final class Leaf extends Node {
+        final String text;
+
+        Leaf(String text) {
+            super(text.length(), 0, 1);
+            this.text = text;
+        }
+    }
+
+    private static final class Concat extends Node {
+        final Node left;
+        final Node right;
+
+        Concat(Node left, Node right) {
+            super(Math.addExact(left.length, right.length), Math.max(left.depth, right.depth) + 1,
+                    left.leafCount + right.leafCount);
+            this.left = left;
+            this.right = right;
+        }
+    }
+}
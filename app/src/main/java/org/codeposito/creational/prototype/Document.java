@@ -1,51 +1,129 @@
 package org.codeposito.creational.prototype;
 
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
 
 /**
  * Document class implementing Cloneable interface for prototype pattern
- * Demonstrates shallow copy implementation
+ * Demonstrates copy-on-write cloning: clone() shares tags and metadata with the original
+ * and whichever document writes to them first takes its own copy
+ * Shared parts count the documents holding them, so the last holder writes in place again
+ * A part handed out through getTags(), getMetadata() or setMetadata() may still be changed through
+ * that reference, so clone() copies such a part right away instead of sharing it
+ * The content is kept in an immutable ContentRope, so clones share it and edits
+ * only rebuild the part of the text around the edited position
  */
 public class Document implements Cloneable {
     private String title;
-    private String content;
-    private List<String> tags;
-    private DocumentMetadata metadata;
+    private ContentRope content;
+    private Shared<List<String>> tags;
+    private Shared<DocumentMetadata> metadata;
 
     public Document(String title, String content) {
+        this(title, content, DocumentClock.system());
+    }
+
+    /**
+     * Creates a document whose metadata is stamped by the given clock
+     */
+    public Document(String title, String content, DocumentClock clock) {
         this.title = title;
-        this.content = content;
-        this.tags = new ArrayList<>();
-        this.metadata = new DocumentMetadata();
+        this.content = content == null ? null : ContentRope.of(content);
+        this.tags = new Shared<>(new ArrayList<>());
+        this.metadata = new Shared<>(new DocumentMetadata(clock));
     }
 
     // Getters
     public String getTitle() { return title; }
-    public String getContent() { return content; }
-    public List<String> getTags() { return tags; }
-    public DocumentMetadata getMetadata() { return metadata; }
+
+    /**
+     * Returns the content as one string
+     * Content longer than one rope chunk is assembled on the first call after an edit; use writeContentTo() to stream it instead
+     */
+    public String getContent() { return content == null ? null : content.toString(); }
+    public int getContentLength() { return content == null ? 0 : content.length(); }
+    public boolean hasTag(String tag) { return tags.value.contains(tag); }
+    public int getTagCount() { return tags.value.size(); }
+
+    // Metadata getters, these read shared metadata without copying it
+    public String getAuthor() { return metadata.value.getAuthor(); }
+    public String getVersion() { return metadata.value.getVersion(); }
+    public boolean isPublic() { return metadata.value.isPublic(); }
+
+    /**
+     * Returns the tags of this document for reading and writing
+     * Tags still shared with a clone are copied first, and later clones copy the tags instead of
+     * sharing them, so changes through the returned list never leak into another document
+     */
+    public List<String> getTags() {
+        tags = tags.own(ArrayList::new);
+        tags.handedOut = true;
+        return tags.value;
+    }
+
+    /**
+     * Returns the metadata of this document for reading and writing
+     * Metadata still shared with a clone is copied first, and later clones copy the metadata instead of
+     * sharing it, so changes through the returned object never leak into another document;
+     * use the metadata getters above to read it without copying
+     */
+    public DocumentMetadata getMetadata() {
+        metadata = metadata.own(DocumentMetadata::clone);
+        metadata.handedOut = true;
+        return metadata.value;
+    }
 
     // Setters
     public void setTitle(String title) { this.title = title; }
-    public void setContent(String content) { this.content = content; }
-    public void addTag(String tag) { this.tags.add(tag); }
-    public void setMetadata(DocumentMetadata metadata) { this.metadata = metadata; }
+    public void setContent(String content) { this.content = content == null ? null : ContentRope.of(content); }
+
+    public void addTag(String tag) {
+        tags = tags.own(ArrayList::new);
+        tags.value.add(tag);
+    }
+
+    public void setMetadata(DocumentMetadata metadata) {
+        this.metadata.release();
+        this.metadata = new Shared<>(metadata);
+        // The caller keeps a reference to the metadata
+        this.metadata.handedOut = true;
+    }
+
+    /**
+     * Inserts text into the content at the given character offset
+     */
+    public void insertContent(int offset, String text) { content = rope().insert(offset, text); }
+
+    /**
+     * Removes the content characters between start (inclusive) and end (exclusive)
+     */
+    public void deleteContent(int start, int end) { content = rope().delete(start, end); }
+
+    public void appendContent(String text) { content = rope().append(text); }
+
+    /**
+     * Writes the content to the channel as UTF-8 without building it as one string
+     * @return the number of bytes written
+     */
+    public long writeContentTo(WritableByteChannel channel) throws IOException {
+        return rope().writeTo(channel);
+    }
 
     /**
-     * Shallow copy implementation using Cloneable interface
-     * Note: This creates a shallow copy - nested objects are shared
+     * Copy-on-write clone using Cloneable interface
+     * Parts never handed out are not copied up front: both documents share them until one of them
+     * asks for its tags or metadata to change them, which then copies only that part
      */
     @Override
     public Document clone() {
-        try {
-            Document cloned = (Document) super.clone();
-            // For shallow copy, we need to manually clone mutable objects
-            cloned.tags = new ArrayList<>(this.tags);
-            return cloned;
-        } catch (CloneNotSupportedException e) {
-            throw new RuntimeException("Clone not supported", e);
-        }
+        Document cloned = copyFields();
+        cloned.tags = tags.share(ArrayList::new);
+        cloned.metadata = metadata.share(DocumentMetadata::clone);
+        return cloned;
     }
 
     /**
@@ -53,19 +131,77 @@ public class Document implements Cloneable {
      * Creates completely independent copy of the document
      */
     public Document deepClone() {
-        Document cloned = new Document(this.title, this.content);
-        cloned.tags = new ArrayList<>(this.tags);
-        cloned.metadata = this.metadata.clone();
+        // Copies the fields directly instead of going through the constructor,
+        // which would create metadata only to replace it. The rope is immutable, so it is shared.
+        Document cloned = copyFields();
+        cloned.tags = new Shared<>(new ArrayList<>(this.tags.value));
+        cloned.metadata = new Shared<>(this.metadata.value.clone());
         return cloned;
     }
 
+    private Document copyFields() {
+        try {
+            return (Document) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException("Clone not supported", e);
+        }
+    }
+
+    private ContentRope rope() {
+        return content == null ? ContentRope.EMPTY : content;
+    }
+
     @Override
     public String toString() {
         return "Document{" +
                 "title='" + title + '\'' +
                 ", content='" + content + '\'' +
-                ", tags=" + tags +
-                ", metadata=" + metadata +
+                ", tags=" + tags.value +
+                ", metadata=" + metadata.value +
                 '}';
     }
+
+    /**
+     * A part of a document that clones share, with the number of documents holding it
+     * The holder count only goes up in clone() and down when a holder takes its own copy; a clone
+     * dropped without writing still counts, so the other holders copy once more on their next write
+     * A part is only handed out while its document is the only holder, and a handed out part is never shared again
+     */
+    private static final class Shared<T> {
+        final T value;
+        private final AtomicInteger holders = new AtomicInteger(1);
+        boolean handedOut;
+
+        Shared(T value) {
+            this.value = value;
+        }
+
+        /**
+         * Returns the part for a clone: this part with one more holder, or a copy if a reference to it was handed out
+         */
+        Shared<T> share(UnaryOperator<T> copier) {
+            if (handedOut) {
+                return new Shared<>(copier.apply(value));
+            }
+            holders.incrementAndGet();
+            return this;
+        }
+
+        void release() {
+            holders.decrementAndGet();
+        }
+
+        /**
+         * Returns this part if no other document holds it, otherwise a copy held only by the caller
+         */
+        Shared<T> own(UnaryOperator<T> copier) {
+            if (holders.get() == 1) {
+                return this;
+            }
+            // Copy before releasing, so a remaining holder never writes while the copy is taken
+            Shared<T> copy = new Shared<>(copier.apply(value));
+            release();
+            return copy;
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,34 @@
+package org.codeposito.creational.prototype;
+
+import java.time.Instant;
+
+/**
+ * DocumentClock interface supplying the timestamps of DocumentMetadata
+ * Timestamps are nanoseconds since the epoch, so recording one allocates nothing
+ */
+@FunctionalInterface
+public interface DocumentClock {
+
+    /**
+     * Returns the current time in nanoseconds since 1970-01-01T00:00Z
+     */
+    long epochNanos();
+
+    /**
+     * Clock reading the system time on every call, with the precision of Instant.now()
+     */
+    static DocumentClock system() {
+        return () -> {
+            Instant now = Instant.now();
+            return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+        };
+    }
+
+    /**
+     * Shared clock that only refreshes its time every millisecond, for code stamping many documents
+     * @see CoarseDocumentClock
+     */
+    static DocumentClock coarse() {
+        return CoarseDocumentClock.shared();
+    }
+}
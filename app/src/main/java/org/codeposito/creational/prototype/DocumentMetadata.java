@@ -1,44 +1,63 @@
 package org.codeposito.creational.prototype;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 /**
  * DocumentMetadata class implementing Cloneable interface
  * Contains metadata information for documents
+ * Timestamps are kept as epoch nanoseconds read from a DocumentClock and only turned into
+ * LocalDateTime by the getters, so creating and changing metadata allocates no date objects
  */
 public class DocumentMetadata implements Cloneable {
     private String author;
-    private LocalDateTime createdAt;
-    private LocalDateTime modifiedAt;
+    private final DocumentClock clock;
+    private long createdAt;
+    private long modifiedAt;
     private String version;
     private boolean isPublic;
 
     public DocumentMetadata() {
-        this.createdAt = LocalDateTime.now();
-        this.modifiedAt = LocalDateTime.now();
+        this(DocumentClock.system());
+    }
+
+    /**
+     * Creates metadata stamped by the given clock
+     * @param clock the clock for the creation and modification times
+     */
+    public DocumentMetadata(DocumentClock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock must not be null");
+        }
+        this.clock = clock;
+        this.createdAt = clock.epochNanos();
+        this.modifiedAt = createdAt;
         this.version = "1.0";
         this.isPublic = false;
     }
 
     // Getters
     public String getAuthor() { return author; }
-    public LocalDateTime getCreatedAt() { return createdAt; }
-    public LocalDateTime getModifiedAt() { return modifiedAt; }
+    public LocalDateTime getCreatedAt() { return toLocalDateTime(createdAt); }
+    public LocalDateTime getModifiedAt() { return toLocalDateTime(modifiedAt); }
+    public long getCreatedAtNanos() { return createdAt; }
+    public long getModifiedAtNanos() { return modifiedAt; }
     public String getVersion() { return version; }
     public boolean isPublic() { return isPublic; }
 
     // Setters
     public void setAuthor(String author) { 
         this.author = author; 
-        this.modifiedAt = LocalDateTime.now();
+        this.modifiedAt = clock.epochNanos();
     }
     public void setVersion(String version) { 
         this.version = version; 
-        this.modifiedAt = LocalDateTime.now();
+        this.modifiedAt = clock.epochNanos();
     }
     public void setPublic(boolean isPublic) { 
         this.isPublic = isPublic; 
-        this.modifiedAt = LocalDateTime.now();
+        this.modifiedAt = clock.epochNanos();
     }
 
     /**
@@ -48,19 +67,24 @@ public class DocumentMetadata implements Cloneable {
     public DocumentMetadata clone() {
         try {
             DocumentMetadata cloned = (DocumentMetadata) super.clone();
-            // LocalDateTime is immutable, so no need for deep copy
+            // Timestamps are primitives and the clock is shared, so no need for deep copy
             return cloned;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException("Clone not supported", e);
         }
     }
 
+    private static LocalDateTime toLocalDateTime(long epochNanos) {
+        Instant instant = Instant.ofEpochSecond(0, epochNanos);
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
     @Override
     public String toString() {
         return "DocumentMetadata{" +
                 "author='" + author + '\'' +
-                ", createdAt=" + createdAt +
-                ", modifiedAt=" + modifiedAt +
+                ", createdAt=" + getCreatedAt() +
+                ", modifiedAt=" + getModifiedAt() +
                 ", version='" + version + '\'' +
                 ", isPublic=" + isPublic +
                 '}';
@@ -65,7 +65,7 @@ public class PrototypeClient {
         System.out.println("Shallow copy metadata: " + shallowCopy.getMetadata());
         System.out.println("Deep copy metadata: " + deepCopy.getMetadata());
         
-        System.out.println("\nNote: In shallow copy, metadata is shared. In deep copy, metadata is independent.");
+        System.out.println("\nNote: clone() shares tags and metadata until one document changes them (copy-on-write). deepClone() copies everything up front.");
     }
     
     /**
@@ -1,5 +1,7 @@
 package org.codeposito.creational.prototype;
 
+import java.util.Objects;
+
 /**
  * Rectangle class extending Shape
  * Demonstrates prototype pattern with concrete shape implementation using copy constructors
@@ -50,6 +52,22 @@ public class Rectangle extends Shape {
         return new Rectangle(this);
     }
 
+    /**
+     * Fills the range with copies made by the copy constructor
+     * Subclasses that do not override cloneInto() go through their own clone() instead
+     */
+    @Override
+    public void cloneInto(Shape[] dest, int from, int to) {
+        if (getClass() != Rectangle.class) {
+            super.cloneInto(dest, from, to);
+            return;
+        }
+        Objects.checkFromToIndex(from, to, dest.length);
+        for (int i = from; i < to; i++) {
+            dest[i] = new Rectangle(this);
+        }
+    }
+
     @Override
     public boolean equals(Object object2) {
         if (!(object2 instanceof Rectangle) || !super.equals(object2)) return false;
@@ -0,0 +1,83 @@
+package org.codeposito.creational.prototype;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * RectangleBatch class holding many rectangles cloned from one prototype as parallel arrays
+ * Each attribute is one array indexed by rectangle, so creating a batch is a few array fills
+ * instead of one object per rectangle, and bulk updates run over contiguous primitive arrays
+ */
+public class RectangleBatch {
+    private final String[] colors;
+    private final int[] x;
+    private final int[] y;
+    private final double[] width;
+    private final double[] height;
+
+    /**
+     * Creates a batch of size copies of the prototype
+     * @param prototype the Rectangle every element starts as
+     * @param size the number of rectangles
+     */
+    public RectangleBatch(Rectangle prototype, int size) {
+        Objects.requireNonNull(prototype, "prototype");
+        if (size < 0) {
+            throw new IllegalArgumentException("Batch size must not be negative");
+        }
+        colors = new String[size];
+        x = new int[size];
+        y = new int[size];
+        width = new double[size];
+        height = new double[size];
+        Arrays.fill(colors, prototype.getColor());
+        Arrays.fill(x, prototype.getX());
+        Arrays.fill(y, prototype.getY());
+        Arrays.fill(width, prototype.getWidth());
+        Arrays.fill(height, prototype.getHeight());
+    }
+
+    public int size() { return x.length; }
+
+    // Getters
+    public String getColor(int index) { return colors[index]; }
+    public int getX(int index) { return x[index]; }
+    public int getY(int index) { return y[index]; }
+    public double getWidth(int index) { return width[index]; }
+    public double getHeight(int index) { return height[index]; }
+
+    // Setters
+    public void setColor(int index, String color) { colors[index] = color; }
+    public void setX(int index, int x) { this.x[index] = x; }
+    public void setY(int index, int y) { this.y[index] = y; }
+    public void setWidth(int index, double width) { this.width[index] = width; }
+    public void setHeight(int index, double height) { this.height[index] = height; }
+
+    /**
+     * Moves every rectangle of the batch by the given offset
+     */
+    public void translate(int dx, int dy) {
+        for (int i = 0; i < x.length; i++) {
+            x[i] += dx;
+            y[i] += dy;
+        }
+    }
+
+    /**
+     * Sum of the areas of all rectangles in the batch
+     */
+    public double getTotalArea() {
+        double sum = 0;
+        for (int i = 0; i < width.length; i++) {
+            sum += width[i] * height[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Creates a standalone Rectangle from one element of the batch
+     */
+    public Rectangle toShape(int index) {
+        return new Rectangle(colors[index], x[index], y[index], width[index], height[index]);
+    }
+}
@@ -55,6 +55,18 @@ public abstract class Shape {
      */
     public abstract Shape clone();
 
+    /**
+     * Fills dest[from..to) with clones of this shape
+     * Subclasses override this with a loop over their copy constructor, so the whole range
+     * is copied without a virtual clone() call per element
+     */
+    public void cloneInto(Shape[] dest, int from, int to) {
+        Objects.checkFromToIndex(from, to, dest.length);
+        for (int i = from; i < to; i++) {
+            dest[i] = clone();
+        }
+    }
+
     @Override
     public boolean equals(Object object2) {
         if (!(object2 instanceof Shape)) return false;
@@ -2,47 +2,102 @@ package org.codeposito.creational.prototype;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * ShapeRegistry class implementing prototype registry pattern
  * Manages a collection of prototype shapes and provides cloning functionality
+ *
+ * Lookups are lock-free: the prototypes live in an immutable map published through a volatile field.
+ * Writers are serialized, copy the current map, change the copy and publish it, so a reader always
+ * sees a complete snapshot. Registration is expected to be rare compared to lookups.
  */
 public class ShapeRegistry {
-    private static final Map<String, Shape> shapePrototypes = new HashMap<>();
+    private static final Object writeLock = new Object();
+    private static volatile Map<String, Shape> shapePrototypes;
 
     /**
      * Initialize the registry with default shapes
      */
     static {
         // Register default prototypes
-        shapePrototypes.put("red-circle", new Circle("red", 0, 0, 10.0));
-        shapePrototypes.put("blue-circle", new Circle("blue", 0, 0, 15.0));
-        shapePrototypes.put("green-rectangle", new Rectangle("green", 0, 0, 20.0, 10.0));
-        shapePrototypes.put("yellow-rectangle", new Rectangle("yellow", 0, 0, 25.0, 15.0));
+        Map<String, Shape> defaults = new HashMap<>();
+        defaults.put("red-circle", new Circle("red", 0, 0, 10.0));
+        defaults.put("blue-circle", new Circle("blue", 0, 0, 15.0));
+        defaults.put("green-rectangle", new Rectangle("green", 0, 0, 20.0, 10.0));
+        defaults.put("yellow-rectangle", new Rectangle("yellow", 0, 0, 25.0, 15.0));
+        shapePrototypes = Map.copyOf(defaults);
     }
 
     /**
      * Register a new shape prototype
+     * The registry keeps its own copy, so later changes to the given shape do not affect it
      */
     public static void registerShape(String key, Shape shape) {
-        shapePrototypes.put(key, shape);
+        if (key == null || shape == null) {
+            throw new IllegalArgumentException("Shape key and prototype must not be null");
+        }
+        Shape prototype = shape.clone();
+        synchronized (writeLock) {
+            Map<String, Shape> updated = new HashMap<>(shapePrototypes);
+            updated.put(key, prototype);
+            shapePrototypes = Map.copyOf(updated);
+        }
     }
 
     /**
      * Get a clone of a shape by key
      */
     public static Shape getShape(String key) {
-        Shape prototype = shapePrototypes.get(key);
-        if (prototype == null) {
-            throw new IllegalArgumentException("Shape with key '" + key + "' not found in registry");
+        return prototype(key).clone();
+    }
+
+    /**
+     * Get count clones of a shape by key
+     * The prototype is looked up once and copied in a single loop
+     */
+    public static Shape[] getShapes(String key, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Shape count must not be negative");
         }
-        return prototype.clone();
+        Shape[] shapes = new Shape[count];
+        prototype(key).cloneInto(shapes, 0, count);
+        return shapes;
+    }
+
+    /**
+     * Fill a preallocated array with clones of a shape by key
+     * The array may be of a Shape subtype matching the prototype, e.g. Circle[] for a circle
+     */
+    public static void cloneInto(String key, Shape[] dest) {
+        prototype(key).cloneInto(dest, 0, dest.length);
+    }
+
+    /**
+     * Get count copies of a circle prototype as a struct-of-arrays batch
+     */
+    public static CircleBatch getCircleBatch(String key, int count) {
+        if (!(prototype(key) instanceof Circle circle)) {
+            throw new IllegalArgumentException("Shape with key '" + key + "' is not a Circle");
+        }
+        return new CircleBatch(circle, count);
+    }
+
+    /**
+     * Get count copies of a rectangle prototype as a struct-of-arrays batch
+     */
+    public static RectangleBatch getRectangleBatch(String key, int count) {
+        if (!(prototype(key) instanceof Rectangle rectangle)) {
+            throw new IllegalArgumentException("Shape with key '" + key + "' is not a Rectangle");
+        }
+        return new RectangleBatch(rectangle, count);
     }
 
     /**
      * Get all available shape keys
+     * The returned set is an unmodifiable snapshot and does not reflect later registrations
      */
-    public static java.util.Set<String> getAvailableShapes() {
+    public static Set<String> getAvailableShapes() {
         return shapePrototypes.keySet();
     }
 
@@ -50,14 +105,22 @@ public class ShapeRegistry {
      * Remove a shape from the registry
      */
     public static void removeShape(String key) {
-        shapePrototypes.remove(key);
+        synchronized (writeLock) {
+            if (key != null && shapePrototypes.containsKey(key)) {
+                Map<String, Shape> updated = new HashMap<>(shapePrototypes);
+                updated.remove(key);
+                shapePrototypes = Map.copyOf(updated);
+            }
+        }
     }
 
     /**
      * Clear all shapes from the registry
      */
     public static void clearRegistry() {
-        shapePrototypes.clear();
+        synchronized (writeLock) {
+            shapePrototypes = Map.of();
+        }
     }
 
     /**
@@ -66,4 +129,15 @@ public class ShapeRegistry {
     public static int getRegistrySize() {
         return shapePrototypes.size();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Look up the registered prototype itself; callers must only copy it
+     */
+    private static Shape prototype(String key) {
+        Shape prototype = key == null ? null : shapePrototypes.get(key);
+        if (prototype == null) {
+            throw new IllegalArgumentException("Shape with key '" + key + "' not found in registry");
+        }
+        return prototype;
+    }
+}
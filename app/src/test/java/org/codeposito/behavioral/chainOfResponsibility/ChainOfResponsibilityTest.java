@@ -2,6 +2,27 @@ package org.codeposito.behavioral.chainOfResponsibility;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -70,4 +91,1137 @@ public class ChainOfResponsibilityTest {
         assertNotNull(RequestType.valueOf("TECHNICAL_SUPPORT"));
         assertNotNull(RequestType.valueOf("GENERAL_INQUIRY"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testCompiledChainRoutesByType() {
+        RecordingHandler login = new RecordingHandler(RequestType.LOGIN, true);
+        RecordingHandler purchase = new RecordingHandler(RequestType.PURCHASE, true);
+        RecordingHandler refund = new RecordingHandler(RequestType.REFUND, true);
+        login.setNext(purchase).setNext(refund);
+
+        CompiledChain chain = CompiledChain.compile(login);
+        Request refundRequest = new Request(RequestType.REFUND, "Compiled refund", 3);
+        chain.handle(refundRequest);
+
+        assertEquals(List.of(refundRequest), refund.processed);
+        assertTrue(login.processed.isEmpty());
+        assertTrue(purchase.processed.isEmpty());
+        // Typed handlers are never asked, the lookup goes straight to the target
+        assertEquals(0, login.canHandleCalls);
+        assertEquals(0, purchase.canHandleCalls);
+        assertEquals(0, refund.canHandleCalls);
+    }
+
+    @Test
+    void testCompiledChainKeepsPredicateHandlersInOrder() {
+        RecordingHandler urgent = new RecordingHandler(RequestType.REFUND, false);
+        RecordingHandler refund = new RecordingHandler(RequestType.REFUND, true);
+        RecordingHandler purchase = new RecordingHandler(RequestType.PURCHASE, true);
+        urgent.setNext(refund).setNext(purchase);
+
+        CompiledChain chain = CompiledChain.compile(urgent);
+        Request refundRequest = new Request(RequestType.REFUND, "Refund", 3);
+        Request purchaseRequest = new Request(RequestType.PURCHASE, "Purchase", 2);
+        chain.handle(refundRequest);
+        chain.handle(purchaseRequest);
+
+        // The predicate handler still wins over the typed handler declared after it
+        assertEquals(List.of(refundRequest), urgent.processed);
+        assertTrue(refund.processed.isEmpty());
+        assertEquals(List.of(purchaseRequest), purchase.processed);
+        assertEquals(2, urgent.canHandleCalls);
+    }
+
+    @Test
+    void testCompiledChainReportsUnhandledRequests() {
+        RecordingHandler login = new RecordingHandler(RequestType.LOGIN, true);
+        RecordingHandler purchase = new RecordingHandler(RequestType.PURCHASE, true);
+        login.setNext(purchase);
+
+        CompiledChain chain = CompiledChain.compile(login);
+        Request complaint = new Request(RequestType.COMPLAINT, "Complaint", 4);
+        chain.handle(complaint);
+
+        assertEquals(List.of(complaint), purchase.unhandled);
+        assertTrue(login.unhandled.isEmpty());
+        assertEquals(List.of(login, purchase), chain.getHandlers());
+    }
+
+    @Test
+    void testCompiledChainRejectsCycles() {
+        RecordingHandler login = new RecordingHandler(RequestType.LOGIN, true);
+        RecordingHandler purchase = new RecordingHandler(RequestType.PURCHASE, true);
+        login.setNext(purchase).setNext(login);
+
+        assertThrows(IllegalArgumentException.class, () -> CompiledChain.compile(login));
+        assertThrows(IllegalArgumentException.class, () -> CompiledChain.compile(null));
+    }
+
+    @Test
+    void testRequestPipelineHandlesEveryRequest() throws Exception {
+        RecordingHandler login = new RecordingHandler(RequestType.LOGIN, true);
+        RecordingHandler purchase = new RecordingHandler(RequestType.PURCHASE, true);
+        login.setNext(purchase);
+
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        try (RequestPipeline pipeline = new RequestPipeline(CompiledChain.compile(login), 16, 4, 8)) {
+            for (int i = 0; i < 200; i++) {
+                RequestType type = i % 2 == 0 ? RequestType.LOGIN : RequestType.PURCHASE;
+                results.add(pipeline.submit(new Request(type, "Request " + i, 1)));
+            }
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(100, login.processed.size());
+        assertEquals(100, purchase.processed.size());
+    }
+
+    @Test
+    void testRequestPipelineRejectsWhenFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Handler blocking = new RecordingHandler(RequestType.LOGIN, true) {
+            @Override
+            protected void processRequest(Request request) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.processRequest(request);
+            }
+        };
+
+        RequestPipeline pipeline = new RequestPipeline(blocking, 1, 1, 1);
+        CompletableFuture<Void> first = pipeline.submit(new Request(RequestType.LOGIN, "First", 1));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> second = pipeline.trySubmit(new Request(RequestType.LOGIN, "Second", 1));
+        CompletableFuture<Void> third = pipeline.trySubmit(new Request(RequestType.LOGIN, "Third", 1));
+
+        ExecutionException rejected = assertThrows(ExecutionException.class, third::get);
+        assertTrue(rejected.getCause() instanceof RejectedExecutionException);
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        pipeline.close();
+        assertTrue(pipeline.trySubmit(new Request(RequestType.LOGIN, "Late", 1)).isCompletedExceptionally());
+    }
+
+    @Test
+    void testRequestPipelineCompletesEveryRequestRacingClose() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            RequestPipeline pipeline = new RequestPipeline(new RecordingHandler(RequestType.LOGIN, true), 4, 2, 2);
+            List<CompletableFuture<Void>> results = Collections.synchronizedList(new ArrayList<>());
+            List<Thread> producers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread producer = new Thread(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        try {
+                            results.add(pipeline.submit(new Request(RequestType.LOGIN, "Request", 1)));
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                        results.add(pipeline.trySubmit(new Request(RequestType.LOGIN, "Request", 1)));
+                    }
+                });
+                producers.add(producer);
+                producer.start();
+            }
+            Thread.sleep(1);
+            Thread closer = new Thread(pipeline::close);
+            closer.start();
+            pipeline.close();
+            closer.join();
+            for (Thread producer : producers) {
+                producer.join();
+            }
+
+            // Every request was either handled before close() returned or rejected
+            synchronized (results) {
+                for (CompletableFuture<Void> result : results) {
+                    assertTrue(result.isDone());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLatencyHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        long p50 = histogram.getValueAtPercentile(50);
+        long p99 = histogram.getValueAtPercentile(99);
+        // Log-linear buckets keep the error within 12.5%
+        assertTrue(p50 >= 500_000 && p50 <= 562_500, "p50 was " + p50);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 was " + p99);
+
+        LatencyHistogram copy = histogram.copy();
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(1000, copy.getCount());
+    }
+
+    @Test
+    void testPrioritySchedulerServesUrgentBandsFirst() {
+        AtomicLong clock = new AtomicLong();
+        PriorityRequestScheduler scheduler = new PriorityRequestScheduler(8, 1_000, clock::get);
+        Request inquiry = new Request(RequestType.GENERAL_INQUIRY, "Inquiry", 6);
+        Request refund = new Request(RequestType.REFUND, "Refund", 3);
+        Request complaint = new Request(RequestType.COMPLAINT, "Complaint", 4);
+        scheduler.submit(inquiry);
+        scheduler.submit(complaint);
+        scheduler.submit(refund);
+
+        assertSame(refund, scheduler.poll());
+        assertSame(complaint, scheduler.poll());
+        assertSame(inquiry, scheduler.poll());
+        assertNull(scheduler.poll());
+        assertEquals(1, scheduler.getQueueLatency(scheduler.bandOf(3)).getCount());
+    }
+
+    @Test
+    void testPrioritySchedulerAgesStarvingRequests() {
+        AtomicLong clock = new AtomicLong();
+        PriorityRequestScheduler scheduler = new PriorityRequestScheduler(8, 1_000, clock::get);
+        Request inquiry = new Request(RequestType.GENERAL_INQUIRY, "Old inquiry", 6);
+        scheduler.submit(inquiry);
+        clock.set(500);
+        Request login = new Request(RequestType.LOGIN, "Login", 1);
+        scheduler.submit(login);
+        scheduler.submit(new Request(RequestType.LOGIN, "Another login", 1));
+
+        clock.set(2_000);
+        // The inquiry has waited past the aging limit and overtakes the urgent logins
+        assertSame(inquiry, scheduler.poll());
+        assertSame(login, scheduler.poll());
+        assertEquals(2_000, scheduler.getQueueLatency(6).getMax());
+    }
+
+    @Test
+    void testPrioritySchedulerAgesAcrossNanoTimeWraparound() {
+        AtomicLong clock = new AtomicLong(Long.MAX_VALUE - 500);
+        PriorityRequestScheduler scheduler = new PriorityRequestScheduler(8, 1_000, clock::get);
+        Request older = new Request(RequestType.GENERAL_INQUIRY, "Older inquiry", 6);
+        scheduler.submit(older);
+        clock.addAndGet(800); // Wraps around to a negative value
+        Request newer = new Request(RequestType.COMPLAINT, "Newer complaint", 3);
+        scheduler.submit(newer);
+
+        clock.addAndGet(2_000);
+        // Both waited past the aging limit, the one submitted before the wraparound waited longer
+        assertSame(older, scheduler.poll());
+        assertSame(newer, scheduler.poll());
+    }
+
+    @Test
+    void testChainMetricsCountsHitsMissesAndUnhandled() {
+        RecordingHandler login = new RecordingHandler(RequestType.LOGIN, true);
+        RecordingHandler purchase = new RecordingHandler(RequestType.PURCHASE, true);
+        login.setNext(purchase);
+
+        ChainMetrics metrics = ChainMetrics.instrument(login);
+        Handler chain = metrics.getChain();
+        chain.handle(new Request(RequestType.LOGIN, "Login", 1));
+        chain.handle(new Request(RequestType.PURCHASE, "Purchase", 2));
+        chain.handle(new Request(RequestType.PURCHASE, "Purchase", 2));
+        chain.handle(new Request(RequestType.REFUND, "Refund", 3));
+
+        ChainMetrics.Snapshot snapshot = metrics.snapshot();
+        HandlerMetrics.Snapshot loginStats = snapshot.getHandlers().get(0);
+        HandlerMetrics.Snapshot purchaseStats = snapshot.getHandlers().get(1);
+        assertEquals("RecordingHandler", loginStats.getHandlerName());
+        assertEquals(4, loginStats.getCanHandleCalls());
+        assertEquals(1, loginStats.getHits());
+        assertEquals(3, loginStats.getMisses());
+        assertEquals(3, purchaseStats.getCanHandleCalls());
+        assertEquals(2, purchaseStats.getHits());
+        assertEquals(2, purchaseStats.getProcessingTime().getCount());
+        assertEquals(1, snapshot.getUnhandledCount());
+        assertEquals(1, snapshot.getMatchesAtDepth(1));
+        assertEquals(2, snapshot.getMatchesAtDepth(2));
+        // The original chain is not instrumented
+        assertEquals(1, purchase.unhandled.size());
+        assertEquals(2, purchase.processed.size());
+
+        metrics.reset();
+        assertEquals(0, metrics.snapshot().getUnhandledCount());
+    }
+
+    @Test
+    void testChainMetricsWorksWithCompiledChain() {
+        RecordingHandler login = new RecordingHandler(RequestType.LOGIN, true);
+        RecordingHandler purchase = new RecordingHandler(RequestType.PURCHASE, true);
+        login.setNext(purchase);
+
+        ChainMetrics metrics = ChainMetrics.instrument(login);
+        CompiledChain chain = CompiledChain.compile(metrics.getChain());
+        chain.handle(new Request(RequestType.PURCHASE, "Purchase", 2));
+
+        HandlerMetrics.Snapshot purchaseStats = metrics.snapshot().getHandlers().get(1);
+        assertEquals(0, purchaseStats.getCanHandleCalls());
+        assertEquals(1, purchaseStats.getHits());
+    }
+
+    @Test
+    void testAdaptiveChainMovesHotHandlersFirst() {
+        RecordingHandler login = new RecordingHandler(RequestType.LOGIN, true);
+        RecordingHandler refund = new RecordingHandler(RequestType.REFUND, true);
+        RecordingHandler purchase = new RecordingHandler(RequestType.PURCHASE, true);
+        login.setNext(refund).setNext(purchase);
+
+        AdaptiveChain chain = new AdaptiveChain(login, 0);
+        for (int i = 0; i < 10; i++) {
+            chain.handle(new Request(RequestType.PURCHASE, "Purchase", 2));
+        }
+        chain.handle(new Request(RequestType.REFUND, "Refund", 3));
+        assertEquals(List.of(login, refund, purchase), chain.getOrder());
+
+        chain.reorder();
+        assertEquals(List.of(purchase, refund, login), chain.getOrder());
+
+        int callsBefore = login.canHandleCalls;
+        chain.handle(new Request(RequestType.PURCHASE, "Purchase", 2));
+        assertEquals(callsBefore, login.canHandleCalls);
+        assertEquals(11, purchase.processed.size());
+    }
+
+    @Test
+    void testAdaptiveChainKeepsPinnedHandlersInPlace() {
+        RecordingHandler login = new RecordingHandler(RequestType.LOGIN, true);
+        RecordingHandler audit = new RecordingHandler(RequestType.COMPLAINT, false);
+        RecordingHandler refund = new RecordingHandler(RequestType.REFUND, true);
+        RecordingHandler purchase = new RecordingHandler(RequestType.PURCHASE, true);
+        login.setNext(audit).setNext(refund).setNext(purchase);
+
+        AdaptiveChain chain = new AdaptiveChain(login, 0).pin(login);
+        for (int i = 0; i < 5; i++) {
+            chain.handle(new Request(RequestType.PURCHASE, "Purchase", 2));
+        }
+        chain.handle(new Request(RequestType.TECHNICAL_SUPPORT, "Unhandled", 5));
+        chain.reorder();
+
+        // The predicate handler is pinned automatically, login explicitly
+        assertEquals(List.of(login, audit, purchase, refund), chain.getOrder());
+        assertEquals(1, purchase.unhandled.size());
+    }
+
+    @Test
+    void testAdaptiveChainNeverMovesHandlersAcrossPinnedOnes() {
+        RecordingHandler login = new RecordingHandler(RequestType.LOGIN, true);
+        RecordingHandler refund = new RecordingHandler(RequestType.REFUND, true);
+        RecordingHandler audit = new RecordingHandler(RequestType.PURCHASE, false);
+        RecordingHandler purchase = new RecordingHandler(RequestType.PURCHASE, true);
+        login.setNext(refund).setNext(audit).setNext(purchase);
+
+        AdaptiveChain chain = new AdaptiveChain(login, 0);
+        for (int i = 0; i < 5; i++) {
+            chain.handle(new Request(RequestType.REFUND, "Refund", 3));
+            chain.handle(new Request(RequestType.PURCHASE, "Purchase", 2));
+        }
+        chain.reorder();
+
+        // Refund moves ahead of login, but the hot purchase handler stays behind the pinned audit handler
+        assertEquals(List.of(refund, login, audit, purchase), chain.getOrder());
+        chain.handle(new Request(RequestType.PURCHASE, "Purchase", 2));
+        assertEquals(6, audit.processed.size());
+        assertEquals(0, purchase.processed.size());
+    }
+
+    @Test
+    void testBroadcastChainRunsEveryMatchingHandler() throws Exception {
+        RecordingHandler audit = new RecordingHandler(RequestType.PURCHASE, false);
+        RecordingHandler login = new RecordingHandler(RequestType.LOGIN, true);
+        RecordingHandler purchase = new RecordingHandler(RequestType.PURCHASE, true);
+        audit.setNext(login).setNext(purchase);
+
+        try (BroadcastChain chain = new BroadcastChain(audit, 5, TimeUnit.SECONDS)) {
+            BroadcastChain.BroadcastResult result = chain.broadcast(new Request(RequestType.PURCHASE, "Purchase", 2));
+
+            assertTrue(result.isSuccessful());
+            assertEquals(2, result.getCompleted().size());
+            assertEquals(1, audit.processed.size());
+            assertEquals(1, purchase.processed.size());
+            assertTrue(login.processed.isEmpty());
+
+            BroadcastChain.BroadcastResult unhandled = chain.broadcast(new Request(RequestType.REFUND, "Refund", 3));
+            assertFalse(unhandled.isSuccessful());
+            assertEquals(1, purchase.unhandled.size());
+        }
+    }
+
+    @Test
+    void testBroadcastChainReportsFailuresAndTimeouts() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Handler slow = new RecordingHandler(RequestType.PURCHASE, true) {
+            @Override
+            protected void processRequest(Request request) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+            }
+        };
+        Handler failing = new RecordingHandler(RequestType.PURCHASE, true) {
+            @Override
+            protected void processRequest(Request request) {
+                throw new IllegalStateException("Fraud service down");
+            }
+        };
+        RecordingHandler purchase = new RecordingHandler(RequestType.PURCHASE, true);
+        slow.setNext(failing).setNext(purchase);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try (BroadcastChain chain = new BroadcastChain(slow, executor, 200, TimeUnit.MILLISECONDS)) {
+            BroadcastChain.BroadcastResult result = chain.broadcast(new Request(RequestType.PURCHASE, "Purchase", 2));
+
+            assertEquals(List.of(purchase), result.getCompleted());
+            assertEquals(List.of(slow), result.getTimedOut());
+            assertTrue(result.getFailed().get(failing) instanceof IllegalStateException);
+            assertFalse(result.isSuccessful());
+            // The timed out handler is interrupted rather than left running
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+        // An executor passed in is not closed with the chain
+        assertFalse(executor.isShutdown());
+        executor.close();
+    }
+
+    @Test
+    void testRequestPoolReusesReleasedRequests() {
+        RequestPool pool = new RequestPool(2);
+        Request first = pool.acquire(RequestType.LOGIN, "Login", 1);
+        pool.release(first);
+        assertEquals(1, pool.getAvailableCount());
+
+        Request reused = pool.acquire(RequestType.REFUND, "Refund", 3);
+        assertSame(first, reused);
+        assertEquals(RequestType.REFUND, reused.getType());
+        assertEquals("Refund", reused.getDescription());
+        assertEquals(3, reused.getPriority());
+        assertEquals(0, pool.getAvailableCount());
+
+        assertNotSame(reused, pool.acquire(RequestType.LOGIN, "Login", 1));
+        assertEquals("Request{type=REFUND, description='Refund', priority=3}", reused.toString());
+
+        // Plain requests stay immutable, the pool never takes them in
+        Request plain = new Request(RequestType.LOGIN, "Login", 1);
+        pool.release(plain);
+        assertEquals(0, pool.getAvailableCount());
+        assertEquals(RequestType.LOGIN, plain.getType());
+    }
+
+    @Test
+    void testHandlerNameIsSimpleClassName() {
+        assertEquals("LoginHandler", loginHandler.getName());
+        assertEquals("RefundHandler", refundHandler.getName());
+    }
+
+    @Test
+    void testHandlersWriteThroughEventSink() {
+        List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        RequestEventSink sink = (source, message, detail) -> lines.add(source + ": " + message + detail);
+        loginHandler.setChainEventSink(sink);
+
+        loginHandler.handle(new Request(RequestType.REFUND, "Order 42", 3));
+        loginHandler.handle(new Request(RequestType.COMPLAINT, "Late delivery", 4));
+
+        assertEquals("RefundHandler: Processing refund request - Order 42", lines.get(0));
+        assertEquals("RefundHandler: Refund request processed successfully.", lines.get(3));
+        assertEquals("null: No handler found for request: COMPLAINT", lines.get(4));
+        assertSame(sink, refundHandler.getEventSink());
+    }
+
+    @Test
+    void testAsyncEventSinkDeliversLinesInOrder() throws Exception {
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        EventWriter writer = new EventWriter() {
+            @Override
+            public void write(String source, String message, String detail) {
+                written.add(source + ": " + message + detail);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        AsyncEventSink sink = new AsyncEventSink(writer, 1024);
+        for (int i = 0; i < 100; i++) {
+            sink.onEvent("LoginHandler", "Line ", String.valueOf(i));
+        }
+        sink.close();
+        sink.onEvent("LoginHandler", "After close", "");
+
+        assertEquals(100, written.size());
+        assertEquals("LoginHandler: Line 0", written.get(0));
+        assertEquals("LoginHandler: Line 99", written.get(99));
+        assertEquals(1, sink.getDroppedCount());
+    }
+
+    @Test
+    void testAsyncEventSinkKeepsDrainingAfterWriterFailures() throws Exception {
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        EventWriter writer = new EventWriter() {
+            @Override
+            public void write(String source, String message, String detail) {
+                if (detail.equals("3")) {
+                    throw new IllegalStateException("Broken line");
+                }
+                written.add(detail);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        AsyncEventSink sink = new AsyncEventSink(writer, 16);
+        for (int i = 0; i < 10; i++) {
+            sink.onEvent("LoginHandler", "Line ", String.valueOf(i));
+            Thread.sleep(1);
+        }
+        sink.close();
+
+        assertEquals(List.of("0", "1", "2", "4", "5", "6", "7", "8", "9"), written);
+        assertEquals(1, sink.getWriteFailureCount());
+        assertEquals(0, sink.getDroppedCount());
+    }
+
+    @Test
+    void testAsyncEventSinkAccountsForEveryLineRacingClose() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            LongAdder written = new LongAdder();
+            EventWriter writer = new EventWriter() {
+                @Override
+                public void write(String source, String message, String detail) {
+                    written.increment();
+                }
+
+                @Override
+                public void flush() {
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+            AsyncEventSink sink = new AsyncEventSink(writer, 1 << 16);
+            int producers = 4;
+            int perProducer = 2_000;
+            CountDownLatch started = new CountDownLatch(producers);
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < producers; t++) {
+                Thread producer = new Thread(() -> {
+                    started.countDown();
+                    for (int i = 0; i < perProducer; i++) {
+                        sink.onEvent("LoginHandler", "Line", "");
+                    }
+                });
+                threads.add(producer);
+                producer.start();
+            }
+            started.await();
+            sink.close();
+            for (Thread producer : threads) {
+                producer.join();
+            }
+
+            // Every line was either written before the drainer stopped or counted as dropped
+            assertEquals(producers * perProducer, written.sum() + sink.getDroppedCount());
+        }
+    }
+
+    @Test
+    void testMappedFileEventWriterWritesLines() throws Exception {
+        Path file = Files.createTempFile("request-events", ".log");
+        try {
+            // A tiny region forces remapping while writing
+            MappedFileEventWriter writer = new MappedFileEventWriter(file, 16);
+            writer.write("RefundHandler", "Processing refund request - ", "Order 42");
+            writer.write(null, "No handler found for request: ", "COMPLAINT");
+            writer.write("LoginHandler", "Detail ", null);
+            // A line that cannot be encoded leaves nothing behind, even across a region boundary
+            assertThrows(CharacterCodingException.class,
+                    () -> writer.write("PurchaseHandler", "Processing purchase request - ", "Order \uD800"));
+            writer.write(null, "Last", "");
+            writer.close();
+
+            assertEquals("RefundHandler: Processing refund request - Order 42\n"
+                    + "No handler found for request: COMPLAINT\n"
+                    + "LoginHandler: Detail null\n"
+                    + "Last\n", Files.readString(file, StandardCharsets.UTF_8));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testRequestJournalRoundTrip() throws Exception {
+        Path file = Files.createTempFile("requests", ".journal");
+        try {
+            RecordingHandler login = new RecordingHandler(RequestType.LOGIN, true);
+            try (RequestJournal journal = RequestJournal.open(file)) {
+                Handler chain = journal.record(login);
+                chain.handle(new Request(RequestType.LOGIN, "User login attempt", 1));
+                chain.handle(new Request(RequestType.COMPLAINT, "Late delivery", 4));
+                journal.commit();
+                assertEquals(2, journal.getDurableCount());
+            }
+
+            try (JournalReader reader = new JournalReader(file)) {
+                JournalRecord first = reader.next();
+                assertEquals(RequestType.LOGIN, first.getType());
+                assertEquals(1, first.getPriority());
+                assertEquals("User login attempt", first.getDescription());
+                assertEquals("RecordingHandler", first.getHandler());
+                assertEquals(JournalOutcome.HANDLED, first.getOutcome());
+
+                JournalRecord second = reader.next();
+                assertEquals(RequestType.COMPLAINT, second.getType());
+                assertNull(second.getHandler());
+                assertEquals(JournalOutcome.UNHANDLED, second.getOutcome());
+                assertTrue(second.getTimestampNanos() >= first.getTimestampNanos());
+                assertNull(reader.next());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testRequestJournalBackgroundCommitAndClose() throws Exception {
+        Path file = Files.createTempFile("requests", ".journal");
+        try {
+            int threads = 4;
+            int perThread = 5_000;
+            RequestJournal journal = RequestJournal.open(file, 100, TimeUnit.MICROSECONDS);
+            Thread[] writers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                int writer = t;
+                writers[t] = new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        journal.append(new Request(RequestType.PURCHASE, "Order " + writer + "-" + i, 2),
+                                "PurchaseHandler", JournalOutcome.HANDLED);
+                    }
+                });
+                writers[t].start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            // Closing while the background thread may be mid-commit must not lose the last batch
+            journal.close();
+            assertEquals(threads * perThread, journal.getDurableCount());
+            assertThrows(IllegalStateException.class, () -> journal.append(
+                    new Request(RequestType.LOGIN, "Too late", 1), null, JournalOutcome.UNHANDLED));
+
+            int records = 0;
+            try (JournalReader reader = new JournalReader(file)) {
+                while (reader.next() != null) {
+                    records++;
+                }
+            }
+            assertEquals(threads * perThread, records);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testJournalReplayerFeedsRequestsBackThroughChain() throws Exception {
+        Path file = Files.createTempFile("requests", ".journal");
+        try {
+            try (RequestJournal journal = RequestJournal.open(file)) {
+                for (int i = 0; i < 50; i++) {
+                    journal.append(new Request(RequestType.PURCHASE, "Order " + i, 2), "PurchaseHandler",
+                            JournalOutcome.HANDLED);
+                }
+            }
+
+            RecordingHandler purchase = new RecordingHandler(RequestType.PURCHASE, true);
+            assertEquals(50, JournalReplayer.replay(file, purchase, JournalReplayer.ReplaySpeed.MAXIMUM));
+            assertEquals(50, JournalReplayer.replay(file, purchase, JournalReplayer.ReplaySpeed.RECORDED));
+            assertEquals(100, purchase.processed.size());
+            assertEquals("Order 49", purchase.processed.get(49).getDescription());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testTokenBucketHandlerShedsOnlyTheFloodingType() {
+        AtomicLong now = new AtomicLong(1_000_000_000L);
+        TokenBucketHandler limiter = new TokenBucketHandler(now::get)
+                .limit(RequestType.TECHNICAL_SUPPORT, 10, 2);
+        RecordingHandler support = new RecordingHandler(RequestType.TECHNICAL_SUPPORT, true);
+        RecordingHandler purchase = new RecordingHandler(RequestType.PURCHASE, true);
+        limiter.setNext(support).setNext(purchase);
+        limiter.setChainEventSink(NoOpEventSink.INSTANCE);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.handle(new Request(RequestType.TECHNICAL_SUPPORT, "Flood " + i, 4));
+            limiter.handle(new Request(RequestType.PURCHASE, "Order " + i, 2));
+        }
+        assertEquals(2, support.processed.size());
+        assertEquals(3, limiter.getRejectedCount(RequestType.TECHNICAL_SUPPORT));
+        assertEquals(5, purchase.processed.size());
+        assertEquals(0, limiter.getRejectedCount(RequestType.PURCHASE));
+
+        // One interval later a single token is available again
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        CompiledChain compiled = CompiledChain.compile(limiter);
+        compiled.handle(new Request(RequestType.TECHNICAL_SUPPORT, "Retry", 4));
+        compiled.handle(new Request(RequestType.TECHNICAL_SUPPORT, "Retry", 4));
+        assertEquals(3, support.processed.size());
+        assertEquals(4, limiter.getRejectedCount(RequestType.TECHNICAL_SUPPORT));
+    }
+
+    @Test
+    void testLoadSheddingHandlerCountsOnceInJournaledAndInstrumentedChain() throws Exception {
+        Path file = Files.createTempFile("requests", ".journal");
+        try {
+            AtomicLong now = new AtomicLong(1_000_000_000L);
+            TokenBucketHandler limiter = new TokenBucketHandler(now::get)
+                    .limit(RequestType.LOGIN, 10, 2);
+            RecordingHandler login = new RecordingHandler(RequestType.LOGIN, true);
+            limiter.setNext(login);
+            limiter.setChainEventSink(NoOpEventSink.INSTANCE);
+
+            // Admission is a pass-through, the limiter never accepts a request itself
+            assertFalse(limiter.canHandle(new Request(RequestType.LOGIN, "Probe", 1)));
+
+            ChainMetrics metrics;
+            try (RequestJournal journal = RequestJournal.open(file)) {
+                metrics = ChainMetrics.instrument(journal.record(limiter));
+                for (int i = 0; i < 3; i++) {
+                    metrics.getChain().handle(new Request(RequestType.LOGIN, "User " + i, 1));
+                }
+                assertEquals(2, journal.getAppendedCount());
+            }
+
+            try (JournalReader reader = new JournalReader(file)) {
+                for (int i = 0; i < 2; i++) {
+                    JournalRecord record = reader.next();
+                    assertEquals("User " + i, record.getDescription());
+                    assertEquals("RecordingHandler", record.getHandler());
+                    assertEquals(JournalOutcome.HANDLED, record.getOutcome());
+                }
+                assertNull(reader.next());
+            }
+
+            ChainMetrics.Snapshot snapshot = metrics.snapshot();
+            assertEquals(0, snapshot.getHandlers().get(0).getHits());
+            assertEquals(0, snapshot.getHandlers().get(0).getProcessingTime().getCount());
+            assertEquals(2, snapshot.getHandlers().get(1).getHits());
+            assertEquals(0, snapshot.getMatchesAtDepth(1));
+            assertEquals(2, snapshot.getMatchesAtDepth(2));
+            assertEquals(2, login.processed.size());
+            assertEquals(1, limiter.getRejectedCount(RequestType.LOGIN));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testCompiledChainDispatchesByTypeBehindLoadSheddingHandlers() {
+        ConcurrencyLimitHandler limiter = new ConcurrencyLimitHandler().limit(RequestType.PURCHASE, 1);
+        List<Long> inFlightWhileProcessing = new ArrayList<>();
+        Handler purchase = new Handler() {
+            @Override
+            protected boolean canHandle(Request request) {
+                throw new AssertionError("Type-indexed handlers are not asked");
+            }
+
+            @Override
+            protected Set<RequestType> getHandledTypes() {
+                return EnumSet.of(RequestType.PURCHASE);
+            }
+
+            @Override
+            protected void processRequest(Request request) {
+                inFlightWhileProcessing.add(limiter.getInFlight(RequestType.PURCHASE));
+            }
+        };
+        RecordingHandler login = new RecordingHandler(RequestType.LOGIN, true);
+        limiter.setNext(login).setNext(purchase);
+        limiter.setChainEventSink(NoOpEventSink.INSTANCE);
+
+        CompiledChain chain = CompiledChain.compile(limiter);
+        chain.handle(new Request(RequestType.PURCHASE, "Order 1", 2));
+        chain.handle(new Request(RequestType.PURCHASE, "Order 2", 2));
+        chain.handle(new Request(RequestType.LOGIN, "User", 1));
+
+        // The limiter held a slot while the target ran and released it afterwards
+        assertEquals(List.of(1L, 1L), inFlightWhileProcessing);
+        assertEquals(0, limiter.getInFlight(RequestType.PURCHASE));
+        assertEquals(0, login.canHandleCalls);
+        assertEquals(1, login.processed.size());
+        assertEquals(0, limiter.getRejectedCount(RequestType.PURCHASE));
+    }
+
+    @Test
+    void testAdaptiveChainCountsMatchesBehindLoadSheddingHandlers() {
+        RecordingHandler login = new RecordingHandler(RequestType.LOGIN, true);
+        TokenBucketHandler limiter = new TokenBucketHandler(() -> 0L).limit(RequestType.PURCHASE, 1, 5);
+        RecordingHandler refund = new RecordingHandler(RequestType.REFUND, true);
+        RecordingHandler purchase = new RecordingHandler(RequestType.PURCHASE, true);
+        login.setNext(limiter).setNext(refund).setNext(purchase);
+        limiter.setEventSink(NoOpEventSink.INSTANCE);
+
+        AdaptiveChain chain = new AdaptiveChain(login, 0);
+        for (int i = 0; i < 6; i++) {
+            chain.handle(new Request(RequestType.PURCHASE, "Order " + i, 2));
+        }
+        chain.handle(new Request(RequestType.REFUND, "Refund", 3));
+        chain.reorder();
+
+        // The matches of the handler behind the limiter are counted, the limiter itself stays pinned
+        assertEquals(List.of(login, limiter, purchase, refund), chain.getOrder());
+        assertEquals(5, purchase.processed.size());
+        assertEquals(1, refund.processed.size());
+        assertEquals(1, limiter.getRejectedCount(RequestType.PURCHASE));
+    }
+
+    @Test
+    void testAsyncChainReleasesLoadSheddingHandlersWhenStagesComplete() throws Exception {
+        CompletableFuture<String> backend = new CompletableFuture<>();
+        AsyncHandler remote = new AsyncHandler() {
+            @Override
+            public boolean canHandle(Request request) {
+                return request.getType() == RequestType.TECHNICAL_SUPPORT;
+            }
+
+            @Override
+            public CompletionStage<Response> handleAsync(Request request) {
+                return backend.thenApply(ticket -> Response.handled(request, ticket));
+            }
+        };
+        ConcurrencyLimitHandler limiter = new ConcurrencyLimitHandler().limit(RequestType.TECHNICAL_SUPPORT, 1);
+        limiter.setEventSink(NoOpEventSink.INSTANCE);
+        AsyncChain chain = AsyncChain.of(new AsyncHandlerAdapter(limiter), remote);
+
+        CompletableFuture<Response> first = chain.handle(new Request(RequestType.TECHNICAL_SUPPORT, "Crash", 2))
+                .toCompletableFuture();
+        assertEquals(1, limiter.getInFlight(RequestType.TECHNICAL_SUPPORT));
+        Response second = chain.handle(new Request(RequestType.TECHNICAL_SUPPORT, "Crash", 2))
+                .toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals(Response.Status.REJECTED, second.getStatus());
+        assertEquals("ConcurrencyLimitHandler", second.getHandler());
+
+        backend.complete("T-1");
+        assertEquals("T-1", first.get(5, TimeUnit.SECONDS).getHandler());
+        assertEquals(0, limiter.getInFlight(RequestType.TECHNICAL_SUPPORT));
+        assertEquals(1, limiter.getRejectedCount(RequestType.TECHNICAL_SUPPORT));
+    }
+
+    @Test
+    void testBroadcastChainRejectsLoadSheddingHandlers() {
+        TokenBucketHandler limiter = new TokenBucketHandler().limit(RequestType.LOGIN, 10, 1);
+        limiter.setNext(new LoginHandler());
+        assertThrows(IllegalArgumentException.class,
+                () -> new BroadcastChain(limiter, Runnable::run, 1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testConcurrencyLimitHandlerRejectsWhileAtLimit() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Handler blocking = new Handler() {
+            @Override
+            protected boolean canHandle(Request request) {
+                return true;
+            }
+
+            @Override
+            protected void processRequest(Request request) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        ConcurrencyLimitHandler limiter = new ConcurrencyLimitHandler().limit(RequestType.REFUND, 1);
+        limiter.setNext(blocking);
+        limiter.setChainEventSink(NoOpEventSink.INSTANCE);
+
+        Thread first = new Thread(() -> limiter.handle(new Request(RequestType.REFUND, "Order 1", 3)));
+        first.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        assertEquals(1, limiter.getInFlight(RequestType.REFUND));
+
+        limiter.handle(new Request(RequestType.REFUND, "Order 2", 3));
+        assertEquals(1, limiter.getRejectedCount(RequestType.REFUND));
+
+        release.countDown();
+        first.join();
+        assertEquals(0, limiter.getInFlight(RequestType.REFUND));
+        limiter.handle(new Request(RequestType.REFUND, "Order 3", 3));
+        limiter.handle(new Request(RequestType.LOGIN, "Unlimited", 1));
+        assertEquals(1, limiter.getRejectedCount(RequestType.REFUND));
+    }
+
+    @Test
+    void testChainSpecBuildsIndependentChains() {
+        ChainSpec spec = ChainSpec.builder()
+                .then(() -> new RecordingHandler(RequestType.LOGIN, true))
+                .then(() -> new RecordingHandler(RequestType.REFUND, false))
+                .eventSink(NoOpEventSink.INSTANCE)
+                .build();
+
+        CompiledChain first = spec.compile();
+        CompiledChain second = spec.compile();
+        first.handle(new Request(RequestType.REFUND, "Order 42", 3));
+
+        assertEquals(2, spec.size());
+        assertEquals(1, ((RecordingHandler) first.getHandlers().get(1)).processed.size());
+        assertEquals(0, ((RecordingHandler) second.getHandlers().get(1)).processed.size());
+        assertNotSame(first.getHandlers().get(0), second.getHandlers().get(0));
+        assertSame(NoOpEventSink.INSTANCE, second.getHandlers().get(1).getEventSink());
+
+        RecordingHandler shared = new RecordingHandler(RequestType.LOGIN, true);
+        ChainSpec sharing = ChainSpec.builder().then(() -> shared).then(LoginHandler::new).build();
+        sharing.instantiate();
+        assertThrows(IllegalStateException.class, sharing::instantiate);
+    }
+
+    @Test
+    void testShardedChainMergesMetricsOfAllShards() throws Exception {
+        ChainSpec spec = ChainSpec.builder()
+                .then(LoginHandler::new)
+                .then(PurchaseHandler::new)
+                .eventSink(NoOpEventSink.INSTANCE)
+                .instrumented()
+                .build();
+
+        for (ShardedChain.Sharding sharding : ShardedChain.Sharding.values()) {
+            ShardedChain chain = new ShardedChain(spec, sharding);
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread worker = new Thread(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        chain.handle(new Request(RequestType.PURCHASE, "Order", 2));
+                        chain.handle(new Request(RequestType.REFUND, "Order", 3));
+                    }
+                });
+                workers.add(worker);
+                worker.start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+
+            ChainMetrics.Snapshot snapshot = chain.snapshot();
+            assertEquals(4000, snapshot.getHandlers().get(1).getHits());
+            assertEquals(4000, snapshot.getHandlers().get(1).getProcessingTime().getCount());
+            assertEquals(4000, snapshot.getUnhandledCount());
+            assertEquals(4000, snapshot.getMatchesAtDepth(2));
+            int shards = chain.getShardCount();
+            assertEquals(0, shards & (shards - 1)); // Fixed power of two, however many threads ran
+            assertTrue(shards >= Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    @Test
+    void testShardedChainRecordsMetricsOnlyWhenInstrumented() {
+        ChainSpec spec = ChainSpec.builder()
+                .then(LoginHandler::new)
+                .then(() -> new RecordingHandler(RequestType.PURCHASE, true))
+                .eventSink(NoOpEventSink.INSTANCE)
+                .build();
+        assertFalse(spec.isInstrumented());
+
+        ShardedChain chain = new ShardedChain(spec, ShardedChain.Sharding.STRIPED);
+        chain.handle(new Request(RequestType.PURCHASE, "Order", 2));
+        assertThrows(IllegalStateException.class, chain::snapshot);
+    }
+
+    @Test
+    void testShardedChainSharesLoadSheddingBudgets() throws Exception {
+        ChainSpec spec = ChainSpec.builder()
+                .then(() -> new TokenBucketHandler(() -> 0L).limit(RequestType.LOGIN, 1, 5))
+                .then(LoginHandler::new)
+                .eventSink(NoOpEventSink.INSTANCE)
+                .instrumented()
+                .build();
+        ShardedChain chain = new ShardedChain(spec, 8);
+        assertEquals(8, chain.getShardCount());
+
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    chain.handle(new Request(RequestType.LOGIN, "User", 1));
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // The clock stands still, so only the burst of the one shared bucket gets through
+        assertEquals(5, chain.snapshot().getHandlers().get(1).getHits());
+    }
+
+    @Test
+    void testAsyncChainReturnsResponsesOfAdaptedHandlers() throws Exception {
+        loginHandler.setChainEventSink(NoOpEventSink.INSTANCE);
+        AsyncChain chain = AsyncChain.adapt(loginHandler);
+
+        Response purchase = chain.handle(new Request(RequestType.PURCHASE, "Order 42", 2))
+                .toCompletableFuture().get(5, TimeUnit.SECONDS);
+        Response complaint = chain.handle(new Request(RequestType.COMPLAINT, "Late delivery", 4))
+                .toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertTrue(purchase.isHandled());
+        assertEquals("PurchaseHandler", purchase.getHandler());
+        assertFalse(complaint.isHandled());
+        assertEquals(Response.Status.UNHANDLED, complaint.getStatus());
+        assertEquals(3, chain.getHandlers().size());
+    }
+
+    @Test
+    void testAsyncChainComposesWithoutBlockingOnBackend() throws Exception {
+        CompletableFuture<String> backend = new CompletableFuture<>();
+        AsyncHandler remote = new AsyncHandler() {
+            @Override
+            public boolean canHandle(Request request) {
+                return request.getType() == RequestType.TECHNICAL_SUPPORT;
+            }
+
+            @Override
+            public CompletionStage<Response> handleAsync(Request request) {
+                return backend.thenApply(ticket -> Response.handled(request, getName() + ":" + ticket));
+            }
+
+            @Override
+            public String getName() {
+                return "RemoteSupport";
+            }
+        };
+        AsyncChain chain = AsyncChain.of(new AsyncHandlerAdapter(new LoginHandler()), remote);
+
+        CompletableFuture<Response> pending = chain.handle(new Request(RequestType.TECHNICAL_SUPPORT, "Crash", 2))
+                .toCompletableFuture();
+        assertFalse(pending.isDone());
+
+        backend.complete("T-1");
+        assertEquals("RemoteSupport:T-1", pending.get(5, TimeUnit.SECONDS).getHandler());
+    }
+
+    @Test
+    void testAsyncHandlerAdapterReportsWhatTheHandlerDid() throws Exception {
+        TokenBucketHandler limiter = new TokenBucketHandler(() -> 0L).limit(RequestType.LOGIN, 1, 1);
+        limiter.setEventSink(NoOpEventSink.INSTANCE);
+        AsyncHandlerAdapter limiting = new AsyncHandlerAdapter(limiter, Runnable::run);
+        Request login = new Request(RequestType.LOGIN, "User", 1);
+
+        // An admitting handler lets the request pass but never handles it, the next time it is over budget
+        assertEquals(Response.Status.UNHANDLED, limiting.handleAsync(login).toCompletableFuture().get().getStatus());
+        Response rejected = limiting.handleAsync(login).toCompletableFuture().get();
+        assertEquals(Response.Status.REJECTED, rejected.getStatus());
+        assertEquals("TokenBucketHandler", rejected.getHandler());
+
+        ChainMetrics metrics = ChainMetrics.instrument(new LoginHandler());
+        metrics.getChain().setEventSink(NoOpEventSink.INSTANCE);
+        AsyncHandlerAdapter instrumented = new AsyncHandlerAdapter(metrics.getChain(), Runnable::run);
+        Response handled = instrumented.handleAsync(login).toCompletableFuture().get();
+        assertEquals(Response.Status.HANDLED, handled.getStatus());
+        assertEquals("LoginHandler", handled.getHandler());
+        assertEquals(Response.Status.UNHANDLED, instrumented.handleAsync(new Request(RequestType.REFUND, "Order", 3))
+                .toCompletableFuture().get().getStatus());
+    }
+
+    @Test
+    void testAsyncChainContinuesAfterUnhandledResponse() throws Exception {
+        CompletableFuture<Boolean> lookup = new CompletableFuture<>();
+        AsyncHandler cache = new AsyncHandler() {
+            @Override
+            public boolean canHandle(Request request) {
+                return true;
+            }
+
+            @Override
+            public CompletionStage<Response> handleAsync(Request request) {
+                return lookup.thenApply(hit -> hit ? Response.handled(request, getName()) : Response.unhandled(request));
+            }
+
+            @Override
+            public String getName() {
+                return "Cache";
+            }
+        };
+        RecordingHandler purchase = new RecordingHandler(RequestType.PURCHASE, true);
+        AsyncChain chain = AsyncChain.of(cache, new AsyncHandlerAdapter(purchase, Runnable::run));
+
+        CompletableFuture<Response> pending = chain.handle(new Request(RequestType.PURCHASE, "Order 42", 2))
+                .toCompletableFuture();
+        assertTrue(purchase.processed.isEmpty());
+
+        // The cache misses, so the request continues with the purchase handler
+        lookup.complete(false);
+        assertEquals("RecordingHandler", pending.get(5, TimeUnit.SECONDS).getHandler());
+        assertEquals(1, purchase.processed.size());
+        assertEquals(Response.Status.UNHANDLED, chain.handle(new Request(RequestType.REFUND, "Order 42", 3))
+                .toCompletableFuture().get(5, TimeUnit.SECONDS).getStatus());
+    }
+
+    /**
+     * Test handler that records what it was asked and what it processed.
+     */
+    static class RecordingHandler extends Handler {
+        private final RequestType type;
+        private final boolean typeOnly;
+        final List<Request> processed = Collections.synchronizedList(new ArrayList<>());
+        final List<Request> unhandled = Collections.synchronizedList(new ArrayList<>());
+        volatile int canHandleCalls;
+
+        RecordingHandler(RequestType type, boolean typeOnly) {
+            this.type = type;
+            this.typeOnly = typeOnly;
+        }
+
+        @Override
+        protected boolean canHandle(Request request) {
+            canHandleCalls++;
+            return request.getType() == type;
+        }
+
+        @Override
+        protected Set<RequestType> getHandledTypes() {
+            return typeOnly ? EnumSet.of(type) : Collections.emptySet();
+        }
+
+        @Override
+        protected void processRequest(Request request) {
+            processed.add(request);
+        }
+
+        @Override
+        protected void onUnhandled(Request request) {
+            unhandled.add(request);
+        }
+    }
+}
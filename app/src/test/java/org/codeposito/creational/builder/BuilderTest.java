@@ -2,6 +2,12 @@ package org.codeposito.creational.builder;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Predicate;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class BuilderTest {
@@ -98,6 +104,139 @@ public class BuilderTest {
         assertEquals("Integrated Graphics", officeComputer.getGpu());
     }
 
+    @Test
+    public void testComputerDirectorReturnsCachedPresets() {
+        ComputerDirector director = new ComputerDirector();
+
+        assertSame(director.buildGamingComputer(), director.buildGamingComputer());
+        assertSame(director.buildBudgetComputer(), new ComputerDirector().buildBudgetComputer());
+        assertEquals("Stock Cooler", director.buildOfficeComputer().getCooling()); // Default applied once
+        assertEquals("Custom Liquid Cooling", director.buildWorkstationComputer().getCooling());
+    }
+
+    @Test
+    public void testComputerToBuilderDerivesVariants() {
+        Computer gaming = new ComputerDirector().buildGamingComputer();
+
+        Computer variant = gaming.toBuilder()
+                .gpu("NVIDIA RTX 4080")
+                .hasBluetooth(false)
+                .build();
+
+        assertNotSame(gaming, variant);
+        assertEquals("NVIDIA RTX 4080", variant.getGpu());
+        assertFalse(variant.hasBluetooth());
+        assertEquals(gaming.getCpu(), variant.getCpu());
+        assertEquals("Full Tower ATX", variant.getCaseType());
+        assertEquals("NVIDIA RTX 4090", gaming.getGpu()); // Source untouched
+        assertTrue(gaming.hasBluetooth());
+
+        // Nothing changed, nothing copied
+        assertSame(gaming, gaming.toBuilder().build());
+
+        assertThrows(IllegalStateException.class, () -> gaming.toBuilder().cpu(null).build());
+    }
+
+    @Test
+    public void testComponentCatalogInternsDescriptions() {
+        ComponentCatalog catalog = new ComponentCatalog();
+
+        short ram = catalog.intern("32GB DDR5-6000");
+        assertEquals(ram, catalog.intern(new String("32GB DDR5-6000")));
+        assertNotEquals(ram, catalog.intern("16GB DDR4-3200"));
+        assertEquals(0, catalog.intern(null));
+        assertNull(catalog.valueOf((short) 0));
+        assertEquals("32GB DDR5-6000", catalog.valueOf(ram));
+        assertEquals(2, catalog.size());
+        assertThrows(IllegalArgumentException.class, () -> catalog.valueOf((short) 3));
+
+        Computer first = new ComputerBuilder().cpu(new String("Intel i7")).ram("16GB").storage("512GB").build();
+        Computer second = new ComputerBuilder().cpu(new String("Intel i7")).ram("16GB").storage("512GB").build();
+        assertSame(first.getCpu(), second.getCpu()); // One shared copy
+        assertNull(first.getGpu());
+        assertFalse(first.hasWifi());
+    }
+
+    @Test
+    public void testComponentCatalogOverflowKeepsDescriptions() {
+        ComponentCatalog full = new ComponentCatalog(2);
+        short ram = full.intern("16GB");
+        assertEquals(ComponentCatalog.OVERFLOW, full.intern("32GB")); // No room left, no exception
+        assertEquals(ram, full.intern("16GB"));
+        assertEquals(1, full.size());
+        assertThrows(IllegalArgumentException.class, () -> full.valueOf(ComponentCatalog.OVERFLOW));
+
+        // Descriptions that do not fit are kept in the computer's side table, the others are decoded
+        // through the shared catalog that interned them
+        Predicate<String> custom = value -> value.startsWith("Custom");
+        byte flags = Computer.flags(true, false);
+        Computer first = new Computer(custom, "Intel i9", "64GB", "2TB", null, "Custom Z790", "1000W", "AIO",
+                "Custom Tower", flags);
+        Computer second = new Computer(custom, new String("Intel i9"), "64GB", "2TB", null, new String("Custom Z790"),
+                "1000W", "AIO", "Custom Tower", flags);
+        Computer other = new Computer(custom, "Intel i9", "64GB", "2TB", null, "Custom X670", "1000W", "AIO",
+                "Custom Tower", flags);
+        assertEquals("Intel i9", first.getCpu());
+        assertEquals("64GB", first.getRam());
+        assertNull(first.getGpu());
+        assertEquals("Custom Z790", first.getMotherboard());
+        assertEquals("1000W", first.getPowerSupply());
+        assertEquals("Custom Tower", first.getCaseType());
+        assertTrue(first.hasWifi());
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    public void testComputerBatchBuilderBuildsEveryRow() {
+        int rows = 20_000;
+        String[] cpus = new String[rows];
+        String[] rams = new String[rows];
+        String[] storages = new String[rows];
+        String[] coolings = new String[rows];
+        boolean[] wifi = new boolean[rows];
+        for (int i = 0; i < rows; i++) {
+            cpus[i] = i % 2 == 0 ? "Intel i7" : "AMD Ryzen 7";
+            rams[i] = (8 << (i % 3)) + "GB";
+            storages[i] = "512GB";
+            coolings[i] = i % 5 == 0 ? "Liquid Cooling" : null;
+            wifi[i] = i % 4 == 0;
+        }
+
+        for (boolean parallel : new boolean[]{false, true}) {
+            ComputerBatchBuilder batch = new ComputerBatchBuilder(rows)
+                    .cpu(cpus).ram(rams).storage(storages).cooling(coolings).hasWifi(wifi);
+            if (parallel) {
+                batch.parallel();
+            }
+            Computer[] computers = batch.build();
+
+            assertEquals(rows, computers.length);
+            assertEquals("AMD Ryzen 7", computers[19_999].getCpu());
+            assertEquals("16GB", computers[19_999].getRam());
+            assertEquals("Liquid Cooling", computers[10_000].getCooling());
+            assertEquals("Stock Cooler", computers[10_001].getCooling()); // Default
+            assertEquals("ATX Mid Tower", computers[10_001].getCaseType()); // Default
+            assertTrue(computers[12].hasWifi());
+            assertFalse(computers[13].hasWifi());
+            assertFalse(computers[12].hasBluetooth());
+            assertNull(computers[0].getGpu());
+        }
+    }
+
+    @Test
+    public void testComputerBatchBuilderValidation() {
+        String[] cpus = {"Intel i5", "Intel i7", null};
+        String[] rams = {"16GB", "16GB", "16GB"};
+
+        IllegalStateException missingCpu = assertThrows(IllegalStateException.class,
+                () -> new ComputerBatchBuilder(3).cpu(cpus).ram(rams).storage(rams).build());
+        assertEquals("CPU is required (row 2)", missingCpu.getMessage());
+        assertThrows(IllegalStateException.class, () -> new ComputerBatchBuilder(3).cpu(rams).ram(rams).build());
+        assertThrows(IllegalArgumentException.class, () -> new ComputerBatchBuilder(2).cpu(cpus));
+    }
+
     @Test
     public void testPizzaBuilderBasic() {
         Pizza pizza = new PizzaBuilder()
@@ -178,6 +317,137 @@ public class BuilderTest {
         assertFalse(pizza.isExtraSauce());
     }
 
+    @Test
+    public void testPizzaToppingsAreSharedNotCopied() {
+        PizzaBuilder builder = new PizzaBuilder()
+                .size("Large")
+                .crust("Thin")
+                .addToppings("Pepperoni", "Mushrooms");
+        Pizza margherita = builder.build();
+        Pizza loaded = builder.addTopping("Olives").build();
+
+        assertSame(margherita.getToppings(), margherita.getToppings()); // Zero-copy reads
+        assertEquals(2, margherita.getToppings().size()); // Unaffected by later appends
+        assertEquals(3, loaded.getToppings().size());
+        assertEquals("Olives", loaded.getToppings().get(2));
+        assertThrows(UnsupportedOperationException.class, () -> margherita.getToppings().add("Ham"));
+
+        Pizza derived = margherita.toBuilder().addTopping("Ham").build();
+        assertEquals(List.of("Pepperoni", "Mushrooms", "Ham"), derived.getToppings());
+        assertEquals(List.of("Pepperoni", "Mushrooms", "Olives"), loaded.getToppings());
+        assertEquals("Large", derived.getSize());
+    }
+
+    @Test
+    public void testPizzaTreatsNullToppingsAsNone() {
+        Pizza plain = new PizzaBuilder().size("Large").crust("Thin").toppings(null).build();
+        Pizza other = new PizzaBuilder().size("Large").crust("Thin").build();
+
+        assertEquals(List.of(), plain.getToppings());
+        assertEquals(other, plain);
+        assertEquals(other.hashCode(), plain.hashCode());
+        assertEquals(List.of("Ham"), new PizzaBuilder().size("Large").crust("Thin")
+                .toppings(null).addTopping("Ham").build().getToppings());
+    }
+
+    @Test
+    public void testToppingListEqualityAndHashing() {
+        ToppingList base = ToppingList.of("Cheese", "Basil");
+        ToppingList same = ToppingList.of("Cheese").append("Basil");
+        ToppingList other = base.append("Garlic");
+
+        assertEquals(base, same);
+        assertEquals(base.hashCode(), same.hashCode());
+        assertEquals(List.of("Cheese", "Basil").hashCode(), base.hashCode());
+        assertEquals(List.of("Cheese", "Basil"), base);
+        assertEquals(base, List.of("Cheese", "Basil"));
+        assertNotEquals(base, other);
+        assertEquals(ToppingList.empty(), List.of());
+        assertThrows(IndexOutOfBoundsException.class, () -> base.get(2));
+    }
+
+    @Test
+    public void testPizzaAndComputerHaveValueEquality() {
+        Pizza first = new PizzaBuilder().size("Large").crust("Thin").addToppings("Ham", "Pineapple").build();
+        Pizza second = new PizzaBuilder().size("Large").crust("Thin").addTopping("Ham").addTopping("Pineapple").build();
+        Pizza other = new PizzaBuilder().size("Large").crust("Thin").addToppings("Pineapple", "Ham").build();
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertNotEquals(first, other);
+        assertNotEquals(first, first.toBuilder().extraCheese(true).build());
+
+        Computer gaming = new ComputerDirector().buildGamingComputer();
+        assertEquals(gaming, gaming.toBuilder().gpu("NVIDIA RTX 4080").gpu("NVIDIA RTX 4090").build());
+        assertEquals(gaming.hashCode(), gaming.toBuilder().cpu(new String("Intel Core i9-13900K")).build().hashCode());
+        assertNotEquals(gaming, gaming.toBuilder().hasWifi(false).build());
+    }
+
+    @Test
+    public void testInternCacheReturnsCanonicalInstances() {
+        InternCache<Pizza> pizzas = new InternCache<>(100);
+        Pizza first = new PizzaBuilder().size("Medium").crust("Thin").addTopping("Cheese").internedIn(pizzas).build();
+        Pizza second = new PizzaBuilder().size("Medium").crust("Thin").addTopping("Cheese").internedIn(pizzas).build();
+
+        assertSame(first, second);
+        assertEquals(1, pizzas.getHitCount());
+        assertEquals(1, pizzas.getMissCount());
+        assertEquals(1, pizzas.size());
+
+        InternCache<Computer> computers = new InternCache<>(2);
+        for (int i = 0; i < 10; i++) {
+            new ComputerBuilder().cpu("CPU " + i).ram("16GB").storage("512GB").internedIn(computers).build();
+        }
+        assertTrue(computers.size() <= 2);
+        assertEquals(8, computers.getEvictionCount());
+        assertEquals(10, computers.getMissCount());
+        assertThrows(IllegalArgumentException.class, () -> new InternCache<Pizza>(0));
+    }
+
+    @Test
+    public void testProductStreamRoundTrip() throws Exception {
+        Path file = Files.createTempFile("products", ".bin");
+        try {
+            ComputerDirector director = new ComputerDirector();
+            Pizza pizza = new PizzaBuilder().size("Large").crust("Thin")
+                    .addToppings("Pepperoni", "Jalapeño", "Pepperoni").stuffedCrust(true).build();
+            try (ProductStreamWriter writer = ProductStreamWriter.open(file)) {
+                for (int i = 0; i < 10_000; i++) {
+                    writer.write(i % 2 == 0 ? director.buildGamingComputer() : director.buildBudgetComputer());
+                }
+                writer.write(pizza);
+                assertEquals(10_001, writer.getRecordCount());
+            }
+            // Dictionary encoding: every component string is stored once
+            assertTrue(Files.size(file) < 10_001 * 16);
+
+            try (ProductStreamReader reader = ProductStreamReader.open(file)) {
+                assertEquals(director.buildGamingComputer(), reader.next());
+                assertEquals(director.buildBudgetComputer(), reader.next());
+                Object last = null;
+                for (int i = 2; i <= 10_000; i++) {
+                    last = reader.next();
+                }
+                assertEquals(pizza, last);
+                assertEquals("Jalapeño", ((Pizza) last).getToppings().get(1));
+                assertNull(reader.next());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testProductStreamReaderRejectsOtherFiles() throws Exception {
+        Path file = Files.createTempFile("products", ".bin");
+        try {
+            Files.writeString(file, "Computer{cpu='Intel i7'}");
+            assertThrows(StreamCorruptedException.class, () -> ProductStreamReader.open(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
     @Test
     public void testBuilderImmutability() {
         Computer computer = new ComputerBuilder()
@@ -4,6 +4,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * Test class for Prototype pattern implementation
  */
@@ -38,12 +48,16 @@ public class PrototypeTest {
         assertEquals(originalDocument.getTitle(), cloned.getTitle());
         assertEquals(originalDocument.getContent(), cloned.getContent());
         
-        // Test that tags are copied (new list)
-        assertNotSame(originalDocument.getTags(), cloned.getTags());
+        // Test that tags are copied before either list is changed (copy-on-write)
         assertEquals(originalDocument.getTags(), cloned.getTags());
+        cloned.getTags().add("clone-only");
+        originalDocument.getTags().remove("test");
+        assertEquals(List.of("prototype"), originalDocument.getTags());
+        assertEquals(List.of("test", "prototype", "clone-only"), cloned.getTags());
         
-        // Test that metadata is shared (shallow copy)
-        assertSame(originalDocument.getMetadata(), cloned.getMetadata());
+        // Test that metadata is copied on access instead of aliased (copy-on-write)
+        assertNotSame(originalDocument.getMetadata(), cloned.getMetadata());
+        assertEquals(originalDocument.getMetadata().getAuthor(), cloned.getMetadata().getAuthor());
     }
 
     @Test
@@ -75,14 +89,142 @@ public class PrototypeTest {
         cloned.addTag("modified");
         cloned.getMetadata().setAuthor("Modified Author");
         
-        // Original should be affected by metadata change (shallow copy)
-        assertEquals("Modified Author", originalDocument.getMetadata().getAuthor());
+        // Original should not be affected by metadata change (copy-on-write)
+        assertEquals("Test Author", originalDocument.getMetadata().getAuthor());
         
         // Original should not be affected by other changes
         assertNotEquals("Modified Title", originalDocument.getTitle());
         assertFalse(originalDocument.getTags().contains("modified"));
     }
 
+    @Test
+    void testDocumentCopyOnWrite() {
+        Document cloned = originalDocument.clone();
+        Document clonedAgain = cloned.clone();
+
+        // Writes to the original copy only its own tags
+        originalDocument.addTag("original-only");
+        assertFalse(cloned.getTags().contains("original-only"));
+        assertFalse(clonedAgain.getTags().contains("original-only"));
+
+        // The list returned by getTags() belongs to its document alone
+        cloned.getTags().add("direct");
+        assertFalse(clonedAgain.hasTag("direct"));
+        assertEquals(2, clonedAgain.getTagCount());
+
+        clonedAgain.getMetadata().setVersion("2.0");
+        assertEquals("1.0", cloned.getVersion());
+        assertEquals("1.0", originalDocument.getVersion());
+        assertEquals(originalDocument.getContent(), clonedAgain.getContent());
+    }
+
+    @Test
+    void testDocumentCopiesOnlyWhileShared() {
+        Document template = new Document("Template", "Text");
+        template.addTag("template");
+        List<String> templateTags = template.getTags();
+        DocumentMetadata templateMetadata = template.getMetadata();
+
+        // Reading a clone's metadata does not copy it
+        Document cloned = template.clone();
+        assertEquals(templateMetadata.getAuthor(), cloned.getAuthor());
+        assertTrue(cloned.hasTag("template"));
+
+        // Once the clone has its own copies, the template is the only holder and writes in place
+        cloned.addTag("draft");
+        cloned.getMetadata().setAuthor("Editor");
+        template.addTag("published");
+        template.getMetadata().setVersion("2.0");
+        assertSame(templateTags, template.getTags());
+        assertSame(templateMetadata, template.getMetadata());
+        assertEquals(List.of("template", "draft"), cloned.getTags());
+        assertEquals("1.0", cloned.getVersion());
+    }
+
+    @Test
+    void testDocumentReferencesTakenBeforeCloneDoNotLeak() {
+        Document document = new Document("Draft", "Text");
+        List<String> tags = document.getTags();
+        DocumentMetadata metadata = document.getMetadata();
+        DocumentMetadata replaced = new DocumentMetadata();
+        Document withReplacedMetadata = new Document("Other", "Text");
+        withReplacedMetadata.setMetadata(replaced);
+
+        Document cloned = document.clone();
+        Document otherClone = withReplacedMetadata.clone();
+        tags.add("leaked");
+        metadata.setAuthor("leaked-author");
+        replaced.setAuthor("leaked-author");
+
+        // Writes through references handed out before the clone only reach the original
+        assertEquals(List.of("leaked"), document.getTags());
+        assertEquals("leaked-author", document.getAuthor());
+        assertEquals(0, cloned.getTagCount());
+        assertNotEquals("leaked-author", cloned.getAuthor());
+        assertNotEquals("leaked-author", otherClone.getAuthor());
+        assertSame(tags, document.getTags());
+        assertSame(metadata, document.getMetadata());
+    }
+
+    @Test
+    void testDocumentContentEdits() throws Exception {
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            expected.append("line ").append(i).append(i % 7 == 0 ? " caf\u00e9 \uD83D\uDE00\n" : "\n");
+        }
+        Document template = new Document("Template", expected.toString());
+        Document copy = template.clone();
+
+        // Random edits on the copy, checked against a StringBuilder
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            int offset = random.nextInt(expected.length() + 1);
+            if (random.nextBoolean()) {
+                copy.insertContent(offset, "edit " + i);
+                expected.insert(offset, "edit " + i);
+            } else {
+                int end = Math.min(expected.length(), offset + random.nextInt(64));
+                copy.deleteContent(offset, end);
+                expected.delete(offset, end);
+            }
+        }
+        copy.appendContent("END");
+        expected.append("END");
+        assertEquals(expected.toString(), copy.getContent());
+        assertEquals(expected.length(), copy.getContentLength());
+
+        // The template keeps its text
+        assertTrue(template.getContent().startsWith("line 0 caf\u00e9"));
+        assertFalse(template.getContent().contains("edit "));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = copy.writeContentTo(Channels.newChannel(out));
+        byte[] bytes = expected.toString().getBytes(StandardCharsets.UTF_8);
+        assertEquals(bytes.length, written);
+        assertArrayEquals(bytes, out.toByteArray());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> copy.deleteContent(5, copy.getContentLength() + 1));
+    }
+
+    @Test
+    void testContentRopeStaysCompactUnderSmallEdits() {
+        ContentRope rope = ContentRope.of("x".repeat(1 << 20));
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            rope = rope.insert(random.nextInt(rope.length() + 1), "ab");
+        }
+        assertEquals((1 << 20) + 40_000, rope.length());
+        // About one leaf per chunk, not one per edit
+        assertTrue(rope.leafCount() <= 2 * (rope.length() / ContentRope.CHUNK_SIZE) + 16, "leaves: " + rope.leafCount());
+
+        // Appending to a large rope merges into its last leaf
+        ContentRope appended = ContentRope.of("y".repeat(ContentRope.CHUNK_SIZE * 4 + 10)).append("z");
+        assertEquals(5, appended.leafCount());
+
+        // Flattened once, then reused
+        assertSame(rope.toString(), rope.toString());
+    }
+
     @Test
     void testDocumentDeepCopyModification() {
         Document cloned = originalDocument.deepClone();
@@ -220,6 +362,110 @@ public class PrototypeTest {
         assertEquals(25.0, retrieved.getRadius());
     }
 
+    @Test
+    void testShapeRegistryKeepsOwnCopy() {
+        Circle customCircle = new Circle("teal", 0, 0, 5.0);
+        ShapeRegistry.registerShape("teal-circle", customCircle);
+        customCircle.setRadius(50.0);
+
+        // Changes to the registered shape do not leak into the registry
+        Circle retrieved = (Circle) ShapeRegistry.getShape("teal-circle");
+        assertEquals(5.0, retrieved.getRadius());
+
+        ShapeRegistry.removeShape("teal-circle");
+        assertFalse(ShapeRegistry.getAvailableShapes().contains("teal-circle"));
+    }
+
+    @Test
+    void testShapeRegistryConcurrentAccess() throws Exception {
+        int writers = 4;
+        int registrations = 500;
+        Thread[] threads = new Thread[writers + 1];
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            threads[w] = new Thread(() -> {
+                for (int i = 0; i < registrations; i++) {
+                    ShapeRegistry.registerShape("concurrent-" + writer + "-" + i, new Circle("black", writer, i, 1.0));
+                }
+            });
+        }
+        threads[writers] = new Thread(() -> {
+            try {
+                for (int i = 0; i < 20_000; i++) {
+                    assertEquals("red", ShapeRegistry.getShape("red-circle").getColor());
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(failure.get());
+
+        // No registration is lost to a concurrent one
+        for (int w = 0; w < writers; w++) {
+            for (int i = 0; i < registrations; i++) {
+                assertEquals(i, ShapeRegistry.getShape("concurrent-" + w + "-" + i).getY());
+                ShapeRegistry.removeShape("concurrent-" + w + "-" + i);
+            }
+        }
+    }
+
+    @Test
+    void testShapeRegistryBulkClone() {
+        Shape[] shapes = ShapeRegistry.getShapes("blue-circle", 1000);
+        assertEquals(1000, shapes.length);
+        assertNotSame(shapes[0], shapes[1]);
+        assertEquals(ShapeRegistry.getShape("blue-circle"), shapes[999]);
+
+        Rectangle[] rectangles = new Rectangle[16];
+        ShapeRegistry.cloneInto("green-rectangle", rectangles);
+        rectangles[0].setWidth(99.0);
+        assertEquals(20.0, rectangles[15].getWidth());
+        assertEquals(20.0, ((Rectangle) ShapeRegistry.getShape("green-rectangle")).getWidth());
+
+        // A circle prototype cannot fill a rectangle array
+        assertThrows(ArrayStoreException.class, () -> ShapeRegistry.cloneInto("red-circle", rectangles));
+
+        // Subclasses keep their own type in bulk copies too
+        class LabeledCircle extends Circle {
+            LabeledCircle(Circle target) {
+                super(target);
+            }
+
+            @Override
+            public Circle clone() {
+                return new LabeledCircle(this);
+            }
+        }
+        Shape[] labeled = new Shape[4];
+        new LabeledCircle(originalCircle).cloneInto(labeled, 0, labeled.length);
+        assertTrue(labeled[3] instanceof LabeledCircle);
+        assertEquals(originalCircle, labeled[3]);
+    }
+
+    @Test
+    void testShapeRegistryBatch() {
+        CircleBatch circles = ShapeRegistry.getCircleBatch("red-circle", 100);
+        assertEquals(100, circles.size());
+        circles.translate(5, -5);
+        circles.setRadius(0, 1.0);
+        assertEquals(new Circle("red", 5, -5, 1.0), circles.toShape(0));
+        assertEquals(new Circle("red", 5, -5, 10.0), circles.toShape(99));
+        assertEquals(Math.PI * (1.0 + 99 * 100.0), circles.getTotalArea(), 0.001);
+
+        RectangleBatch rectangles = ShapeRegistry.getRectangleBatch("yellow-rectangle", 10);
+        assertEquals(10 * 25.0 * 15.0, rectangles.getTotalArea(), 0.001);
+        assertEquals("yellow", rectangles.getColor(9));
+
+        assertThrows(IllegalArgumentException.class, () -> ShapeRegistry.getRectangleBatch("red-circle", 10));
+    }
+
     @Test
     void testShapeRegistryInvalidKey() {
         // Test getting non-existent shape
@@ -255,5 +501,41 @@ public class PrototypeTest {
         assertEquals(original.getAuthor(), cloned.getAuthor());
         assertEquals(original.getVersion(), cloned.getVersion());
         assertEquals(original.isPublic(), cloned.isPublic());
+        assertEquals(original.getCreatedAtNanos(), cloned.getCreatedAtNanos());
+    }
+
+    @Test
+    void testDocumentMetadataClock() {
+        AtomicLong now = new AtomicLong(1_700_000_000_123_456_789L);
+        Document document = new Document("Clocked", "Content", now::get);
+        DocumentMetadata metadata = document.getMetadata();
+        assertEquals(1_700_000_000_123_456_789L, metadata.getCreatedAtNanos());
+
+        now.addAndGet(5_000_000_000L);
+        metadata.setAuthor("Clock Author");
+        assertEquals(1_700_000_005_123_456_789L, metadata.getModifiedAtNanos());
+        assertEquals(5, Duration.between(metadata.getCreatedAt(), metadata.getModifiedAt()).getSeconds());
+        assertEquals(123_456_789, metadata.getCreatedAt().getNano());
+
+        // The deep copy carries the original timestamps instead of fresh ones
+        now.addAndGet(60_000_000_000L);
+        Document copy = document.deepClone();
+        assertEquals(metadata.getCreatedAtNanos(), copy.getMetadata().getCreatedAtNanos());
+        assertNotSame(metadata, copy.getMetadata());
+    }
+
+    @Test
+    void testCoarseDocumentClock() {
+        AtomicLong now = new AtomicLong(1_000L);
+        try (CoarseDocumentClock clock = new CoarseDocumentClock(now::get, 1, TimeUnit.HOURS)) {
+            assertEquals(1_000L, clock.epochNanos());
+            now.set(2_000L);
+            // Only a refresh picks up the new time
+            assertEquals(1_000L, clock.epochNanos());
+            clock.refresh();
+            assertEquals(2_000L, clock.epochNanos());
+        }
+        long before = DocumentClock.system().epochNanos();
+        assertTrue(Math.abs(DocumentClock.coarse().epochNanos() - before) < 1_000_000_000L);
     }
 } 
\ No newline at end of file
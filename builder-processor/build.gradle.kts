@@ -0,0 +1,27 @@
+/*
+ * Annotation processor that generates builder base classes from annotated constructors.
+ * The app uses it at compile time only, see app/build.gradle.kts.
+ */
+
+plugins {
+    `java-library`
+}
+
+repositories {
+    mavenCentral()
+}
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
+
+testing {
+    suites {
+        // The tests run javac with the processor on small sample sources
+        val test by getting(JvmTestSuite::class) {
+            useJUnitJupiter("5.12.1")
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.codeposito.builder;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Value passed for a String constructor parameter that was not set or set to null.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.PARAMETER)
+public @interface DefaultValue {
+
+    /**
+     * The default value.
+     */
+    String value();
+}
@@ -0,0 +1,23 @@
+package org.codeposito.builder;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates an abstract, self-typed builder base class from the annotated constructor.
+ * The base class has one fluent setter per constructor parameter, keeps the values in plain fields
+ * and creates the object in {@code newInstance()}, after checking all {@link Required} parameters
+ * with a single bitmask test and filling in {@link DefaultValue}s.
+ * A hand-written builder extends the base class and adds anything specific, such as build().
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.CONSTRUCTOR)
+public @interface GenerateBuilder {
+
+    /**
+     * The simple name of the generated class, by default the type name followed by "BuilderBase".
+     */
+    String value() default "";
+}
@@ -0,0 +1,19 @@
+package org.codeposito.builder;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a reference-type constructor parameter that must be set to a non-null value before the object is created.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.PARAMETER)
+public @interface Required {
+
+    /**
+     * The message of the IllegalStateException thrown when the parameter is missing.
+     */
+    String value();
+}
@@ -0,0 +1,204 @@
+package org.codeposito.builder.processor;
+
+import org.codeposito.builder.DefaultValue;
+import org.codeposito.builder.GenerateBuilder;
+import org.codeposito.builder.Required;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates a builder base class for every constructor annotated with {@link GenerateBuilder}.
+ * Every reference-type parameter owns one bit of an int that is set while the parameter holds a
+ * non-null value. The required parameters form a constant mask, so validation is a single
+ * {@code REQUIRED & ~assigned} test, and only when it fails is the first missing parameter looked up
+ * for its message. Defaults are applied by testing the parameter's bit.
+ */
+@SupportedAnnotationTypes({
+        "org.codeposito.builder.GenerateBuilder",
+        "org.codeposito.builder.Required",
+        "org.codeposito.builder.DefaultValue"
+})
+public class BuilderProcessor extends AbstractProcessor {
+    private static final int MAX_PARAMETERS = Integer.SIZE;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(GenerateBuilder.class)) {
+            if (element.getKind() != ElementKind.CONSTRUCTOR) {
+                error(element, "@GenerateBuilder is only allowed on constructors");
+                continue;
+            }
+            ExecutableElement constructor = (ExecutableElement) element;
+            if (constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                error(element, "@GenerateBuilder constructors must not be private");
+                continue;
+            }
+            if (constructor.getParameters().size() > MAX_PARAMETERS) {
+                error(element, "@GenerateBuilder supports at most " + MAX_PARAMETERS + " parameters");
+                continue;
+            }
+            if (valid(constructor.getParameters())) {
+                generate(constructor);
+            }
+        }
+        return true;
+    }
+
+    private boolean valid(List<? extends VariableElement> parameters) {
+        boolean valid = true;
+        for (VariableElement parameter : parameters) {
+            boolean primitive = parameter.asType().getKind().isPrimitive();
+            Required required = parameter.getAnnotation(Required.class);
+            DefaultValue defaultValue = parameter.getAnnotation(DefaultValue.class);
+            if (required != null && primitive) {
+                error(parameter, "@Required is only allowed on reference types");
+                valid = false;
+            }
+            if (defaultValue != null && !isString(parameter)) {
+                error(parameter, "@DefaultValue is only allowed on String parameters");
+                valid = false;
+            }
+            if (required != null && defaultValue != null) {
+                error(parameter, "A parameter cannot be both @Required and have a @DefaultValue");
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    private void generate(ExecutableElement constructor) {
+        TypeElement type = (TypeElement) constructor.getEnclosingElement();
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.getQualifiedName().toString();
+        String typeName = type.getSimpleName().toString();
+        String generatedName = constructor.getAnnotation(GenerateBuilder.class).value();
+        if (generatedName.isEmpty()) {
+            generatedName = typeName + "BuilderBase";
+        }
+        List<? extends VariableElement> parameters = constructor.getParameters();
+
+        int requiredMask = 0;
+        for (int i = 0; i < parameters.size(); i++) {
+            if (parameters.get(i).getAnnotation(Required.class) != null) {
+                requiredMask |= 1 << i;
+            }
+        }
+
+        StringBuilder source = new StringBuilder();
+        if (!pkg.isUnnamed()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import javax.annotation.processing.Generated;\n\n");
+        source.append("/**\n");
+        source.append(" * Builder base for {@link ").append(typeName).append("}, generated from its annotated constructor.\n");
+        source.append(" * Values are kept in fields; each non-null reference value sets one bit of {@code assigned},\n");
+        source.append(" * so the required values are checked with one mask test in {@link #newInstance()}.\n");
+        source.append(" * @param <B> The concrete builder type returned by the setters.\n");
+        source.append(" */\n");
+        source.append("@Generated(\"").append(BuilderProcessor.class.getName()).append("\")\n");
+        source.append("public abstract class ").append(generatedName).append("<B extends ").append(generatedName).append("<B>> {\n");
+        source.append("    private static final int REQUIRED = 0x").append(Integer.toHexString(requiredMask)).append(";\n");
+        source.append("    private static final String[] MISSING_MESSAGES = {");
+        for (int i = 0; i < parameters.size(); i++) {
+            Required required = parameters.get(i).getAnnotation(Required.class);
+            source.append(i == 0 ? "" : ", ");
+            source.append(required == null ? "null" : processingEnv.getElementUtils().getConstantExpression(required.value()));
+        }
+        source.append("};\n\n");
+
+        for (VariableElement parameter : parameters) {
+            source.append("    protected ").append(parameter.asType()).append(' ').append(parameter.getSimpleName()).append(";\n");
+        }
+        source.append("    /** One bit per parameter, set while the parameter holds a non-null value. */\n");
+        source.append("    protected int assigned;\n");
+        source.append("    /** Set by every setter, so a builder copied from an existing object can tell whether anything changed. */\n");
+        source.append("    protected boolean modified;\n\n");
+
+        source.append("    /**\n");
+        source.append("     * Returns this builder as its concrete type.\n");
+        source.append("     */\n");
+        source.append("    protected abstract B self();\n");
+
+        for (int i = 0; i < parameters.size(); i++) {
+            VariableElement parameter = parameters.get(i);
+            String name = parameter.getSimpleName().toString();
+            source.append("\n    public B ").append(name).append('(').append(parameter.asType()).append(' ').append(name).append(") {\n");
+            source.append("        this.").append(name).append(" = ").append(name).append(";\n");
+            if (!parameter.asType().getKind().isPrimitive()) {
+                String bit = "0x" + Integer.toHexString(1 << i);
+                source.append("        assigned = ").append(name).append(" != null ? assigned | ").append(bit)
+                        .append(" : assigned & ~").append(bit).append(";\n");
+            }
+            source.append("        modified = true;\n");
+            source.append("        return self();\n");
+            source.append("    }\n");
+        }
+
+        source.append("\n    /**\n");
+        source.append("     * Checks the required values, applies the defaults and creates the object.\n");
+        source.append("     * @throws IllegalStateException if a required value is missing.\n");
+        source.append("     */\n");
+        source.append("    protected ").append(typeName).append(" newInstance() {\n");
+        source.append("        int missing = REQUIRED & ~assigned;\n");
+        source.append("        if (missing != 0) {\n");
+        source.append("            throw new IllegalStateException(MISSING_MESSAGES[Integer.numberOfTrailingZeros(missing)]);\n");
+        source.append("        }\n");
+        source.append("        return new ").append(typeName).append('(');
+        for (int i = 0; i < parameters.size(); i++) {
+            VariableElement parameter = parameters.get(i);
+            String name = parameter.getSimpleName().toString();
+            DefaultValue defaultValue = parameter.getAnnotation(DefaultValue.class);
+            source.append(i == 0 ? "\n                " : ",\n                ");
+            if (defaultValue == null) {
+                source.append(name);
+            } else {
+                source.append("(assigned & 0x").append(Integer.toHexString(1 << i)).append(") != 0 ? ").append(name)
+                        .append(" : ").append(processingEnv.getElementUtils().getConstantExpression(defaultValue.value()));
+            }
+        }
+        source.append(");\n");
+        source.append("    }\n");
+        source.append("}\n");
+
+        String qualifiedName = pkg.isUnnamed() ? generatedName : packageName + "." + generatedName;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            error(constructor, "Cannot write " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    private boolean isString(VariableElement parameter) {
+        return parameter.asType().getKind() == TypeKind.DECLARED
+                && parameter.asType().toString().equals(String.class.getName());
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,216 @@
+package org.codeposito.builder.processor;
+
+import org.junit.jupiter.api.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the builder annotation processor.
+ * Every test compiles a small sample with javac and the processor, then checks the diagnostics
+ * or loads the compiled sample and runs the generated builder.
+ */
+public class BuilderProcessorTest {
+
+    private static final String PART = """
+            package sample;
+
+            import org.codeposito.builder.DefaultValue;
+            import org.codeposito.builder.GenerateBuilder;
+            import org.codeposito.builder.Required;
+
+            public class Part {
+                private final String name;
+                private final String material;
+                private final String color;
+                private final String note;
+                private final int count;
+
+                @GenerateBuilder
+                Part(@Required("Name is required") String name,
+                     @Required("Material is required") String material,
+                     @DefaultValue("black") String color,
+                     String note, int count) {
+                    this.name = name;
+                    this.material = material;
+                    this.color = color;
+                    this.note = note;
+                    this.count = count;
+                }
+
+                @Override
+                public String toString() {
+                    return name + "/" + material + "/" + color + "/" + note + "/" + count;
+                }
+            }
+            """;
+
+    private static final String PART_BUILDER = """
+            package sample;
+
+            public class PartBuilder extends PartBuilderBase<PartBuilder> {
+                @Override
+                protected PartBuilder self() {
+                    return this;
+                }
+
+                public String build() {
+                    try {
+                        return newInstance().toString();
+                    } catch (IllegalStateException e) {
+                        return e.getMessage();
+                    }
+                }
+            }
+            """;
+
+    @Test
+    void testProcessorClaimsAllItsAnnotations() {
+        assertEquals(Set.of("org.codeposito.builder.GenerateBuilder", "org.codeposito.builder.Required",
+                "org.codeposito.builder.DefaultValue"), new BuilderProcessor().getSupportedAnnotationTypes());
+    }
+
+    @Test
+    void testGeneratedBuilderChecksRequiredMaskAndAppliesDefaults() throws Exception {
+        Path output = Files.createTempDirectory("builder-processor");
+        try {
+            Compilation compilation = compile(output, source("sample.Part", PART), source("sample.PartBuilder", PART_BUILDER));
+            assertTrue(compilation.success, compilation.diagnostics.toString());
+            // -Xlint:processing reports annotations no processor claimed, only @Generated may be left
+            for (String line : compilation.output.lines().toList()) {
+                assertFalse(line.contains("No processor claimed") && line.contains("org.codeposito.builder"), line);
+            }
+
+            String generated = Files.readString(output.resolve("sample/PartBuilderBase.java"));
+            assertTrue(generated.contains("REQUIRED = 0x3;"), generated);
+
+            try (URLClassLoader loader = new URLClassLoader(new URL[] {output.toUri().toURL()},
+                    BuilderProcessorTest.class.getClassLoader())) {
+                Class<?> builderType = loader.loadClass("sample.PartBuilder");
+
+                Object builder = builderType.getConstructor().newInstance();
+                set(builderType, builder, "name", String.class, "bolt");
+                set(builderType, builder, "material", String.class, "steel");
+                set(builderType, builder, "count", int.class, 3);
+                assertEquals("bolt/steel/black/null/3", build(builderType, builder));
+
+                // Explicit values win over the default, null falls back to it
+                set(builderType, builder, "color", String.class, "red");
+                set(builderType, builder, "note", String.class, "zinc plated");
+                assertEquals("bolt/steel/red/zinc plated/3", build(builderType, builder));
+                set(builderType, builder, "color", String.class, null);
+                assertEquals("bolt/steel/black/zinc plated/3", build(builderType, builder));
+
+                // The first missing required value in parameter order is reported
+                Object empty = builderType.getConstructor().newInstance();
+                assertEquals("Name is required", build(builderType, empty));
+                set(builderType, empty, "material", String.class, "steel");
+                assertEquals("Name is required", build(builderType, empty));
+                set(builderType, empty, "name", String.class, "bolt");
+                set(builderType, empty, "material", String.class, null);
+                assertEquals("Material is required", build(builderType, empty));
+            }
+        } finally {
+            delete(output);
+        }
+    }
+
+    @Test
+    void testInvalidAnnotationsAreReported() throws Exception {
+        Path output = Files.createTempDirectory("builder-processor");
+        try {
+            Compilation compilation = compile(output, source("sample.Bad", """
+                    package sample;
+
+                    import org.codeposito.builder.DefaultValue;
+                    import org.codeposito.builder.GenerateBuilder;
+                    import org.codeposito.builder.Required;
+
+                    public class Bad {
+                        @GenerateBuilder
+                        Bad(@Required("Count is required") int count,
+                            @DefaultValue("1") Integer size,
+                            @Required("Name is required") @DefaultValue("none") String name) {
+                        }
+                    }
+                    """));
+
+            assertFalse(compilation.success);
+            List<String> errors = new ArrayList<>();
+            for (Diagnostic<? extends JavaFileObject> diagnostic : compilation.diagnostics) {
+                if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                    errors.add(diagnostic.getMessage(null));
+                }
+            }
+            assertEquals(List.of("@Required is only allowed on reference types",
+                    "@DefaultValue is only allowed on String parameters",
+                    "A parameter cannot be both @Required and have a @DefaultValue"), errors);
+            assertFalse(Files.exists(output.resolve("sample/BadBuilderBase.java")));
+        } finally {
+            delete(output);
+        }
+    }
+
+    private static Compilation compile(Path output, JavaFileObject... sources) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StringWriter out = new StringWriter();
+        List<String> options = List.of("-Xlint:processing", "-classpath", System.getProperty("java.class.path"),
+                "-d", output.toString(), "-s", output.toString());
+        JavaCompiler.CompilationTask task = compiler.getTask(out, null, diagnostics, options, null, List.of(sources));
+        task.setProcessors(List.of(new BuilderProcessor()));
+        boolean success = task.call();
+        StringBuilder messages = new StringBuilder(out.toString());
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            messages.append(diagnostic.getMessage(null)).append('\n');
+        }
+        return new Compilation(success, diagnostics.getDiagnostics(), messages.toString());
+    }
+
+    private static JavaFileObject source(String className, String code) {
+        URI uri = URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+
+    private static void set(Class<?> builderType, Object builder, String name, Class<?> type, Object value) throws Exception {
+        builderType.getMethod(name, type).invoke(builder, value);
+    }
+
+    private static String build(Class<?> builderType, Object builder) throws Exception {
+        return (String) builderType.getMethod("build").invoke(builder);
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private record Compilation(boolean success, List<Diagnostic<? extends JavaFileObject>> diagnostics, String output) {
+    }
+}
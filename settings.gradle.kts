@@ -12,4 +12,4 @@ plugins {
 }
 
 rootProject.name = "Java-DesignPatterns-SOLID"
-include("app")
+include("app", "builder-processor")